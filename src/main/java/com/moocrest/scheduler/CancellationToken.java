@@ -0,0 +1,77 @@
+package com.moocrest.scheduler;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class CancellationToken {
+    private final boolean interruptOnCancel;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+    private Thread boundThread;
+    private boolean interrupted;
+
+    public CancellationToken() {
+        this(false);
+    }
+
+    public CancellationToken(boolean interruptOnCancel) {
+        this.interruptOnCancel = interruptOnCancel;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Task was cancelled");
+        }
+    }
+
+    public void onCancel(Runnable listener) {
+        listeners.add(listener);
+        if (cancelled && listeners.remove(listener)) {
+            listener.run();
+        }
+    }
+
+    public void cancel() {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (interruptOnCancel && boundThread != null) {
+                boundThread.interrupt();
+                interrupted = true;
+            }
+        }
+
+        for (Runnable listener : listeners) {
+            if (listeners.remove(listener)) {
+                try {
+                    listener.run();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    public synchronized void bind(Thread thread) {
+        this.boundThread = thread;
+    }
+
+    public void unbind() {
+        boolean clear;
+        synchronized (this) {
+            boundThread = null;
+            clear = interrupted;
+            interrupted = false;
+        }
+        if (clear) {
+            Thread.interrupted();
+        }
+    }
+}
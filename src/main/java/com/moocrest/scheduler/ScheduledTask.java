@@ -8,4 +8,8 @@ public interface ScheduledTask {
     boolean isCancelled();
 
     BukkitTask getBukkitTask();
+
+    default int getAttempts() {
+        return 0;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,70 @@
 package com.moocrest.scheduler;
 
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventPriority;
 import org.bukkit.plugin.Plugin;
 
+import com.moocrest.scheduler.batch.Batcher;
 import com.moocrest.scheduler.builder.AsyncSchedulerBuilder;
 import com.moocrest.scheduler.builder.SyncSchedulerBuilder;
+import com.moocrest.scheduler.durable.DurableTasks;
+import com.moocrest.scheduler.graph.TaskGraph;
 import com.moocrest.scheduler.group.TaskGroup;
+import com.moocrest.scheduler.idle.IdleExecutor;
+import com.moocrest.scheduler.impl.TaskRegistry;
+import com.moocrest.scheduler.keyed.KeyedExecutor;
+import com.moocrest.scheduler.shard.ShardCoordinator;
+import com.moocrest.scheduler.stagger.PhaseBalancer;
+import com.moocrest.scheduler.stream.TickStream;
+import com.moocrest.scheduler.trace.Tracer;
+import com.moocrest.scheduler.trigger.EventTriggers;
+import com.moocrest.scheduler.watchdog.TaskWatchdog;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 public final class Scheduler {
+    private static final String DURABLE_JOURNAL = "scheduler-durable.journal";
+    private static final TaskRegistry registry = new TaskRegistry();
+    private static final KeyedExecutor keyedExecutor = new KeyedExecutor(
+            task -> Bukkit.getScheduler().runTaskAsynchronously(getPlugin(), task));
+    private static final PhaseBalancer syncBalancer = new PhaseBalancer();
+    private static final PhaseBalancer asyncBalancer = new PhaseBalancer();
+    private static final IdleExecutor idleExecutor = new IdleExecutor();
+    private static final Tracer tracer = new Tracer();
+    private static final EventTriggers triggers = new EventTriggers(hub -> Bukkit.getPluginManager()
+            .registerEvent(hub.getEventClass(), hub, EventPriority.MONITOR, hub, getPlugin(), true));
+    private static final Set<Batcher<?>> batchers = ConcurrentHashMap.newKeySet();
     private static Plugin plugin;
+    private static DurableTasks durableTasks;
+    private static volatile ShardCoordinator shardCoordinator;
+    private static volatile boolean staggerByDefault = false;
 
     public static void initialize(Plugin plugin) {
         Scheduler.plugin = plugin;
+        registry.reset();
+        idleExecutor.reset();
+        triggers.reset();
+        tracer.close();
+        sharding(null);
+        closeBatchers();
+
+        if (durableTasks != null) {
+            durableTasks.close();
+            durableTasks = null;
+        }
+
+        Path journal = durableJournal(plugin);
+        if (journal != null && Files.exists(journal)) {
+            durable();
+        }
     }
 
     public static Plugin getPlugin() {
@@ -35,4 +89,127 @@ public final class Scheduler {
     public static TaskGroup createTaskGroup() {
         return new TaskGroup("default");
     }
+
+    public static TaskGraph graph() {
+        return graph("graph");
+    }
+
+    public static TaskGraph graph(String name) {
+        return new TaskGraph(name,
+                task -> {
+                    if (Bukkit.isPrimaryThread()) {
+                        task.run();
+                    } else {
+                        Bukkit.getScheduler().runTask(getPlugin(), task);
+                    }
+                },
+                task -> Bukkit.getScheduler().runTaskAsynchronously(getPlugin(), task));
+    }
+
+    public static <T> TickStream<T> stream(Flow.Publisher<T> publisher) {
+        return new TickStream<>(publisher);
+    }
+
+    public static <T> Batcher<T> batcher(int maxSize, long maxDelayTicks, Consumer<List<T>> consumer) {
+        Plugin owner = getPlugin();
+        Batcher<T> batcher = new Batcher<>(maxSize, maxDelayTicks, consumer,
+                task -> Bukkit.getScheduler().runTaskAsynchronously(owner, task));
+        batcher.attach(Bukkit.getScheduler().runTaskTimerAsynchronously(owner, batcher::tick,
+                maxDelayTicks, maxDelayTicks));
+        batchers.removeIf(Batcher::isClosed);
+        batchers.add(batcher);
+        return batcher;
+    }
+
+    public static TaskWatchdog watchdog() {
+        TaskWatchdog current = TaskWatchdog.current();
+        return current != null ? current : new TaskWatchdog();
+    }
+
+    public static KeyedExecutor keyed() {
+        return keyedExecutor;
+    }
+
+    public static IdleExecutor idle() {
+        idleExecutor.start(getPlugin());
+        return idleExecutor;
+    }
+
+    public static void sharding(ShardCoordinator coordinator) {
+        ShardCoordinator previous = shardCoordinator;
+        shardCoordinator = coordinator;
+        if (previous != null && previous != coordinator) {
+            previous.close();
+        }
+    }
+
+    public static ShardCoordinator shardCoordinator() {
+        return shardCoordinator;
+    }
+
+    public static Tracer tracer() {
+        return tracer;
+    }
+
+    public static EventTriggers triggers() {
+        return triggers;
+    }
+
+    public static PhaseBalancer phaseBalancer(boolean async) {
+        return async ? asyncBalancer : syncBalancer;
+    }
+
+    public static void staggerByDefault(boolean stagger) {
+        staggerByDefault = stagger;
+    }
+
+    public static boolean isStaggeringByDefault() {
+        return staggerByDefault;
+    }
+
+    public static TaskRegistry registry() {
+        return registry;
+    }
+
+    public static synchronized DurableTasks durable() {
+        if (durableTasks == null) {
+            Path journal = durableJournal(getPlugin());
+            if (journal == null) {
+                throw new IllegalStateException("Durable tasks require a plugin data folder");
+            }
+
+            DurableTasks tasks = new DurableTasks(journal);
+            tasks.recover();
+            tasks.start();
+            durableTasks = tasks;
+        }
+        return durableTasks;
+    }
+
+    public static ShutdownReport shutdown(Duration deadline) {
+        ShutdownReport report = registry.shutdown(deadline);
+        closeBatchers();
+        tracer.close();
+        if (durableTasks != null) {
+            durableTasks.close();
+            durableTasks = null;
+        }
+        return report;
+    }
+
+    private static void closeBatchers() {
+        for (Batcher<?> batcher : batchers) {
+            try {
+                batcher.close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        batchers.clear();
+    }
+
+    private static Path durableJournal(Plugin plugin) {
+        File dataFolder = plugin.getDataFolder();
+        return dataFolder != null ? dataFolder.toPath().resolve(DURABLE_JOURNAL) : null;
+    }
 }
\ No newline at end of file
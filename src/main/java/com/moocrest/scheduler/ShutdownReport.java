@@ -0,0 +1,54 @@
+package com.moocrest.scheduler;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+public final class ShutdownReport {
+    private final int completed;
+    private final int flushed;
+    private final List<String> dropped;
+    private final List<String> unfinished;
+    private final Duration elapsed;
+
+    public ShutdownReport(int completed, int flushed, List<String> dropped, List<String> unfinished, Duration elapsed) {
+        this.completed = completed;
+        this.flushed = flushed;
+        this.dropped = Collections.unmodifiableList(dropped);
+        this.unfinished = Collections.unmodifiableList(unfinished);
+        this.elapsed = elapsed;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getFlushed() {
+        return flushed;
+    }
+
+    public List<String> getDropped() {
+        return dropped;
+    }
+
+    public List<String> getUnfinished() {
+        return unfinished;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public boolean isClean() {
+        return unfinished.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ShutdownReport{completed=" + completed
+                + ", flushed=" + flushed
+                + ", dropped=" + dropped.size()
+                + ", unfinished=" + unfinished.size()
+                + ", elapsed=" + elapsed.toMillis() + "ms}";
+    }
+}
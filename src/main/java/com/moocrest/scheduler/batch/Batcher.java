@@ -0,0 +1,226 @@
+package com.moocrest.scheduler.batch;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public class Batcher<T> implements AutoCloseable {
+    private final int maxSize;
+    private final long maxDelayTicks;
+    private final Consumer<List<T>> consumer;
+    private final Executor flushExecutor;
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Object spaceMonitor = new Object();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong flushedItems = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile int capacity;
+    private volatile Consumer<Throwable> errorHandler;
+    private volatile BukkitTask timer;
+    private volatile boolean closed;
+
+    public Batcher(int maxSize, long maxDelayTicks, Consumer<List<T>> consumer, Executor flushExecutor) {
+        if (maxSize < 1 || maxDelayTicks < 1) {
+            throw new IllegalArgumentException("Batching requires maxSize >= 1 and maxDelayTicks >= 1");
+        }
+        this.maxSize = maxSize;
+        this.maxDelayTicks = maxDelayTicks;
+        this.consumer = consumer;
+        this.flushExecutor = flushExecutor;
+        this.capacity = maxSize * 8;
+    }
+
+    public Batcher<T> capacity(int capacity) {
+        if (capacity < maxSize) {
+            throw new IllegalArgumentException("Capacity must be at least maxSize");
+        }
+        this.capacity = capacity;
+        return this;
+    }
+
+    public Batcher<T> onError(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+    public void attach(BukkitTask timer) {
+        this.timer = timer;
+        if (closed) {
+            timer.cancel();
+        }
+    }
+
+    public boolean offer(T item) {
+        if (tryAdd(item)) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void put(T item) throws InterruptedException {
+        if (Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException("put() would block the primary thread; use offer() instead");
+        }
+
+        while (!tryAdd(item)) {
+            synchronized (spaceMonitor) {
+                if (size.get() >= capacity) {
+                    spaceMonitor.wait(50);
+                }
+            }
+        }
+    }
+
+    public void tick() {
+        if (size.get() > 0) {
+            flush(true);
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain(true);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        return size.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getFlushedCount() {
+        return flushedItems.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMaxDelayTicks() {
+        return maxDelayTicks;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        BukkitTask current = timer;
+        if (current != null) {
+            current.cancel();
+        }
+        flush();
+    }
+
+    private boolean tryAdd(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item must not be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Batcher is closed");
+        }
+
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                requestFlush();
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        queue.add(item);
+        if (closed) {
+            flush();
+        } else if (current + 1 >= maxSize) {
+            requestFlush();
+        }
+        return true;
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushRequested.set(false);
+                    flush(false);
+                });
+            } catch (Exception e) {
+                flushRequested.set(false);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void flush(boolean all) {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drain(all);
+        } finally {
+            flushLock.unlock();
+        }
+
+        if (size.get() >= maxSize) {
+            requestFlush();
+        }
+    }
+
+    private void drain(boolean all) {
+        while (size.get() >= maxSize || (all && size.get() > 0)) {
+            List<T> batch = new ArrayList<>(Math.min(maxSize, size.get()));
+            T item;
+            while (batch.size() < maxSize && (item = queue.poll()) != null) {
+                batch.add(item);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            size.addAndGet(-batch.size());
+            synchronized (spaceMonitor) {
+                spaceMonitor.notifyAll();
+            }
+
+            batches.incrementAndGet();
+            flushedItems.addAndGet(batch.size());
+            try {
+                consumer.accept(batch);
+            } catch (Exception e) {
+                Consumer<Throwable> handler = errorHandler;
+                if (handler != null) {
+                    handler.accept(e);
+                } else {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.moocrest.scheduler.breaker;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+    public static final long NO_PERMIT = -1;
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final LongSupplier clock;
+    private final List<BiConsumer<State, State>> listeners = new CopyOnWriteArrayList<>();
+    private double failureRateThreshold = 0.5;
+    private double slowCallRateThreshold = 1.0;
+    private long slowCallNanos = Duration.ofSeconds(5).toNanos();
+    private long openNanos = Duration.ofSeconds(30).toNanos();
+    private int minimumCalls = 20;
+    private int halfOpenCalls = 3;
+    private byte[] window = new byte[100];
+    private int windowCount;
+    private int windowIndex;
+    private int failures;
+    private int slowCalls;
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+    private long generation;
+
+    public CircuitBreaker(String name) {
+        this(name, System::nanoTime);
+    }
+
+    public CircuitBreaker(String name, LongSupplier nanoClock) {
+        this.name = name;
+        this.clock = nanoClock;
+    }
+
+    public synchronized CircuitBreaker failureRateThreshold(double rate) {
+        this.failureRateThreshold = checkRate(rate);
+        return this;
+    }
+
+    public synchronized CircuitBreaker slowCallThreshold(Duration duration, double rate) {
+        this.slowCallNanos = duration.toNanos();
+        this.slowCallRateThreshold = checkRate(rate);
+        return this;
+    }
+
+    public synchronized CircuitBreaker windowSize(int calls) {
+        if (calls < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1");
+        }
+        this.window = new byte[calls];
+        clearWindow();
+        return this;
+    }
+
+    public synchronized CircuitBreaker minimumCalls(int calls) {
+        if (calls < 1) {
+            throw new IllegalArgumentException("Minimum calls must be at least 1");
+        }
+        this.minimumCalls = calls;
+        return this;
+    }
+
+    public synchronized CircuitBreaker openDuration(Duration duration) {
+        this.openNanos = duration.toNanos();
+        return this;
+    }
+
+    public synchronized CircuitBreaker halfOpenCalls(int calls) {
+        if (calls < 1) {
+            throw new IllegalArgumentException("Half-open calls must be at least 1");
+        }
+        this.halfOpenCalls = calls;
+        return this;
+    }
+
+    public CircuitBreaker onStateChange(BiConsumer<State, State> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        if (state == State.OPEN) {
+            synchronized (this) {
+                if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+                    return State.HALF_OPEN;
+                }
+            }
+        }
+        return state;
+    }
+
+    public boolean isCallPermitted() {
+        return getState() != State.OPEN;
+    }
+
+    public long tryAcquire() {
+        State previous;
+        long permit;
+        synchronized (this) {
+            previous = state;
+            if (state == State.CLOSED) {
+                return generation;
+            }
+            if (state == State.OPEN) {
+                if (clock.getAsLong() - openedAt < openNanos) {
+                    return NO_PERMIT;
+                }
+                state = State.HALF_OPEN;
+                probesIssued = 0;
+                probesSucceeded = 0;
+                generation++;
+            }
+            if (probesIssued >= halfOpenCalls) {
+                permit = NO_PERMIT;
+            } else {
+                probesIssued++;
+                permit = generation;
+            }
+        }
+        notifyIfChanged(previous);
+        return permit;
+    }
+
+    public void onSuccess(long permit, long durationNanos) {
+        record(permit, durationNanos >= slowCallNanos ? SLOW : SUCCESS);
+    }
+
+    public void onFailure(long permit, long durationNanos) {
+        record(permit, FAILURE);
+    }
+
+    public synchronized void onIgnored(long permit) {
+        if (permit == generation && state == State.HALF_OPEN && probesIssued > 0) {
+            probesIssued--;
+        }
+    }
+
+    public synchronized double getFailureRate() {
+        return windowCount == 0 ? 0 : (double) failures / windowCount;
+    }
+
+    public synchronized double getSlowCallRate() {
+        return windowCount == 0 ? 0 : (double) slowCalls / windowCount;
+    }
+
+    public synchronized int getBufferedCalls() {
+        return windowCount;
+    }
+
+    public void reset() {
+        State previous;
+        synchronized (this) {
+            previous = state;
+            state = State.CLOSED;
+            clearWindow();
+        }
+        notifyIfChanged(previous);
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{name=" + name + ", state=" + getState()
+                + ", failureRate=" + getFailureRate()
+                + ", slowCallRate=" + getSlowCallRate() + "}";
+    }
+
+    private void record(long permit, byte outcome) {
+        State previous;
+        synchronized (this) {
+            if (permit != generation) {
+                return;
+            }
+            previous = state;
+            if (state == State.HALF_OPEN) {
+                if (outcome == SUCCESS) {
+                    if (++probesSucceeded >= halfOpenCalls) {
+                        state = State.CLOSED;
+                        clearWindow();
+                    }
+                } else {
+                    open();
+                }
+            } else if (state == State.CLOSED) {
+                push(outcome);
+                if (windowCount >= minimumCalls
+                        && ((double) failures / windowCount >= failureRateThreshold
+                        || (double) slowCalls / windowCount >= slowCallRateThreshold)) {
+                    open();
+                }
+            }
+        }
+        notifyIfChanged(previous);
+    }
+
+    private void push(byte outcome) {
+        if (windowCount == window.length) {
+            byte evicted = window[windowIndex];
+            if (evicted == FAILURE) {
+                failures--;
+            } else if (evicted == SLOW) {
+                slowCalls--;
+            }
+        } else {
+            windowCount++;
+        }
+
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        if (outcome == FAILURE) {
+            failures++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        clearWindow();
+    }
+
+    private void clearWindow() {
+        generation++;
+        windowCount = 0;
+        windowIndex = 0;
+        failures = 0;
+        slowCalls = 0;
+        probesIssued = 0;
+        probesSucceeded = 0;
+    }
+
+    private void notifyIfChanged(State previous) {
+        State current = state;
+        if (previous == current) {
+            return;
+        }
+        for (BiConsumer<State, State> listener : listeners) {
+            try {
+                listener.accept(previous, current);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static double checkRate(double rate) {
+        if (rate <= 0 || rate > 1) {
+            throw new IllegalArgumentException("Rate thresholds must be in (0, 1]");
+        }
+        return rate;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
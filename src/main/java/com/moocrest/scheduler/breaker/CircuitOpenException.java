@@ -0,0 +1,14 @@
+package com.moocrest.scheduler.breaker;
+
+public class CircuitOpenException extends RuntimeException {
+    private final String breaker;
+
+    public CircuitOpenException(String breaker) {
+        super("Circuit breaker " + breaker + " is open", null, false, false);
+        this.breaker = breaker;
+    }
+
+    public String getBreaker() {
+        return breaker;
+    }
+}
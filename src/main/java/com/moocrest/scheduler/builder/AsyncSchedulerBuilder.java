@@ -3,33 +3,243 @@ package com.moocrest.scheduler.builder;
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
 
+import com.moocrest.scheduler.CancellationToken;
 import com.moocrest.scheduler.ScheduledTask;
 import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.breaker.CircuitBreaker;
+import com.moocrest.scheduler.breaker.CircuitOpenException;
+import com.moocrest.scheduler.hedge.LatencyTracker;
+import com.moocrest.scheduler.impl.RetryingScheduledTask;
 import com.moocrest.scheduler.impl.ScheduledTaskImpl;
+import com.moocrest.scheduler.keyed.KeyedExecutor;
+import com.moocrest.scheduler.retry.Backoff;
+import com.moocrest.scheduler.trace.Trace;
+import com.moocrest.scheduler.trace.Tracer;
 
+import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public class AsyncSchedulerBuilder extends BaseSchedulerBuilder<AsyncSchedulerBuilder> {
+    private int maxAttempts = 1;
+    private Backoff backoff = Backoff.none();
+    private Predicate<Throwable> retryOn = throwable -> true;
+    private BiConsumer<Integer, Throwable> retryHandler;
+    private int maxHedges = 0;
+    private long hedgeAfter = -1;
+    private LatencyTracker hedgeTracker;
+    private double hedgePercentile;
+    private boolean interruptOnCancel = false;
+    private Object serialKey;
+    private CircuitBreaker breaker;
+
+    public AsyncSchedulerBuilder retry(int maxAttempts, Backoff backoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        return this;
+    }
+
+    public AsyncSchedulerBuilder retryOn(Predicate<Throwable> retryOn) {
+        this.retryOn = retryOn;
+        return this;
+    }
+
+    public AsyncSchedulerBuilder onRetry(BiConsumer<Integer, Throwable> retryHandler) {
+        this.retryHandler = retryHandler;
+        return this;
+    }
+
+    public AsyncSchedulerBuilder hedge(long afterTicks, int maxHedges) {
+        if (afterTicks <= 0 || maxHedges < 1) {
+            throw new IllegalArgumentException("Hedging requires afterTicks > 0 and maxHedges >= 1");
+        }
+        requireUnkeyed();
+        this.hedgeAfter = afterTicks;
+        this.hedgeTracker = null;
+        this.maxHedges = maxHedges;
+        return this;
+    }
+
+    public AsyncSchedulerBuilder hedge(LatencyTracker tracker, double percentile, int maxHedges) {
+        if (maxHedges < 1) {
+            throw new IllegalArgumentException("Hedging requires maxHedges >= 1");
+        }
+        if (tracker == null) {
+            throw new IllegalArgumentException("Latency tracker must not be null");
+        }
+        if (percentile <= 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+        requireUnkeyed();
+        this.hedgeTracker = tracker;
+        this.hedgePercentile = percentile;
+        this.hedgeAfter = -1;
+        this.maxHedges = maxHedges;
+        return this;
+    }
+
+    public AsyncSchedulerBuilder keyed(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key must not be null");
+        }
+        if (maxHedges > 0) {
+            throw new IllegalStateException("Hedged tasks cannot be keyed; hedges would queue behind the primary");
+        }
+        this.serialKey = key;
+        return this;
+    }
+
+    private void requireUnkeyed() {
+        if (serialKey != null) {
+            throw new IllegalStateException("Keyed tasks cannot hedge; hedges would queue behind the primary");
+        }
+    }
+
+    public AsyncSchedulerBuilder circuitBreaker(CircuitBreaker breaker) {
+        this.breaker = breaker;
+        return this;
+    }
+
+    public AsyncSchedulerBuilder interruptOnCancel() {
+        this.interruptOnCancel = true;
+        return this;
+    }
+
+    public ScheduledTask run(Consumer<CancellationToken> task) {
+        return launch(() -> executeTask(token -> {
+            task.accept(token);
+            return null;
+        }, null));
+    }
+
+    @Override
+    protected boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    protected Object serialKey() {
+        return serialKey;
+    }
+
+    @Override
+    protected AsyncSchedulerBuilder newBuilder() {
+        return new AsyncSchedulerBuilder();
+    }
+
+    @Override
+    protected void copyFrom(AsyncSchedulerBuilder source) {
+        super.copyFrom(source);
+        this.maxAttempts = source.maxAttempts;
+        this.backoff = source.backoff;
+        this.retryOn = source.retryOn;
+        this.retryHandler = source.retryHandler;
+        this.maxHedges = source.maxHedges;
+        this.hedgeAfter = source.hedgeAfter;
+        this.hedgeTracker = source.hedgeTracker;
+        this.hedgePercentile = source.hedgePercentile;
+        this.interruptOnCancel = source.interruptOnCancel;
+        this.serialKey = source.serialKey;
+        this.breaker = source.breaker;
+    }
 
     @Override
     protected ScheduledTask executeTask(Supplier<Object> task) {
+        return executeTask(token -> task.get(), null);
+    }
+
+    private ScheduledTask executeTask(Function<CancellationToken, Object> task, Consumer<Throwable> failureHandler) {
+        if (breaker != null && !breaker.isCallPermitted()) {
+            CircuitOpenException rejected = new CircuitOpenException(breaker.getName());
+            if (failureHandler != null) {
+                failureHandler.accept(rejected);
+            } else {
+                handleError(rejected);
+            }
+            return describe(new ScheduledTaskImpl(null));
+        }
+
+        CancellationToken token = new CancellationToken(interruptOnCancel);
+
+        if (maxAttempts > 1) {
+            return executeWithRetry(task, token, failureHandler);
+        }
+
         if (timeout > 0) {
-            return executeWithTimeout(task);
+            return executeWithTimeout(task, token, failureHandler);
         }
 
         BukkitTask bukkitTask = scheduleTask(() -> {
             try {
-                task.get();
+                invoke(task, token);
             } catch (Exception e) {
-                handleError(e);
+                fail(e, failureHandler);
             }
         }, true);
 
-        return new ScheduledTaskImpl(bukkitTask);
+        return describe(new ScheduledTaskImpl(bukkitTask, token));
+    }
+
+    private <V> V invoke(Function<CancellationToken, V> task, CancellationToken token) {
+        token.throwIfCancelled();
+        long permit = breaker != null ? breaker.tryAcquire() : CircuitBreaker.NO_PERMIT;
+        if (breaker != null && permit == CircuitBreaker.NO_PERMIT) {
+            throw new CircuitOpenException(breaker.getName());
+        }
+
+        token.bind(Thread.currentThread());
+        long start = System.nanoTime();
+        try {
+            V result = task.apply(token);
+            if (breaker != null) {
+                breaker.onSuccess(permit, System.nanoTime() - start);
+            }
+            return result;
+        } catch (Throwable throwable) {
+            if (breaker != null) {
+                if (throwable instanceof CancellationException) {
+                    breaker.onIgnored(permit);
+                } else {
+                    breaker.onFailure(permit, System.nanoTime() - start);
+                }
+            }
+            throw throwable;
+        } finally {
+            token.unbind();
+        }
+    }
+
+    @Override
+    protected BukkitTask dispatch(Runnable body, boolean async, long delay) {
+        if (serialKey == null || !async) {
+            return super.dispatch(body, async, delay);
+        }
+
+        KeyedExecutor executor = Scheduler.keyed();
+        Object key = serialKey;
+        KeyedExecutor.KeyedTask keyedTask = new KeyedExecutor.KeyedTask(key, body);
+        KeyedExecutor.Slot slot = executor.takeHeld(key);
+        Runnable enqueue = slot != null && slot.bind(keyedTask)
+                ? slot::resume
+                : () -> executor.enqueue(key, keyedTask);
+        if (delay > 0) {
+            keyedTask.setDelayTask(Bukkit.getScheduler().runTaskLaterAsynchronously(Scheduler.getPlugin(),
+                    enqueue, delay));
+        } else {
+            enqueue.run();
+        }
+        return keyedTask;
     }
 
     @Override
@@ -37,6 +247,12 @@ public class AsyncSchedulerBuilder extends BaseSchedulerBuilder<AsyncSchedulerBu
         if (repeat <= 0) {
             throw new IllegalStateException("Repeat interval must be set for repeating tasks");
         }
+        if (maxAttempts > 1) {
+            throw new IllegalStateException("Repeating tasks cannot retry; handle failures in the task body");
+        }
+        if (serialKey != null) {
+            throw new IllegalStateException("Keyed tasks cannot repeat; submit each run with keyed(key).run(...)");
+        }
 
         AtomicInteger executionCount = new AtomicInteger(0);
         final BukkitTask[] taskRef = new BukkitTask[1];
@@ -60,10 +276,105 @@ public class AsyncSchedulerBuilder extends BaseSchedulerBuilder<AsyncSchedulerBu
         }, true);
 
         taskRef[0] = bukkitTask;
-        return new ScheduledTaskImpl(bukkitTask);
+        return describe(new ScheduledTaskImpl(bukkitTask));
+    }
+
+    private ScheduledTask executeWithRetry(Function<CancellationToken, Object> task, CancellationToken token,
+            Consumer<Throwable> failureHandler) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        final BukkitTask[] timeoutRef = new BukkitTask[1];
+
+        RetryingScheduledTask retryingTask = new RetryingScheduledTask(token) {
+            @Override
+            public void cancel() {
+                super.cancel();
+                if (timeoutRef[0] != null) {
+                    timeoutRef[0].cancel();
+                }
+                future.cancel(true);
+            }
+        };
+
+        if (timeout > 0) {
+            timeoutRef[0] = Bukkit.getScheduler().runTaskLaterAsynchronously(
+                    Scheduler.getPlugin(),
+                    () -> {
+                        if (!future.isDone()) {
+                            retryingTask.cancel();
+                            handleTimeout();
+                        }
+                    },
+                    timeout);
+        }
+
+        Runnable attempt = new Runnable() {
+            @Override
+            public void run() {
+                if (retryingTask.isCancelled()) {
+                    return;
+                }
+
+                int attemptNumber = retryingTask.nextAttempt();
+                try {
+                    future.complete(invoke(task, token));
+                    finish();
+                } catch (Exception e) {
+                    if (attemptNumber < maxAttempts && !retryingTask.isCancelled() && shouldRetry(e)) {
+                        notifyRetry(attemptNumber, e);
+                        long retryDelay = backoff.delayFor(attemptNumber);
+                        if (serialKey != null) {
+                            Scheduler.keyed().hold(serialKey);
+                        }
+                        retryingTask.setCurrentTask(scheduleTask(this, true, retryDelay));
+                        return;
+                    }
+
+                    future.completeExceptionally(e);
+                    finish();
+                    fail(e, failureHandler);
+                }
+            }
+
+            private void finish() {
+                retryingTask.finish();
+                if (timeoutRef[0] != null) {
+                    timeoutRef[0].cancel();
+                }
+            }
+        };
+
+        retryingTask.setCurrentTask(scheduleTask(attempt, true));
+        return describe(retryingTask);
+    }
+
+    private boolean shouldRetry(Throwable throwable) {
+        try {
+            return retryOn.test(throwable);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
     }
 
-    private ScheduledTask executeWithTimeout(Supplier<Object> task) {
+    private void notifyRetry(int attempt, Throwable throwable) {
+        if (retryHandler != null) {
+            try {
+                retryHandler.accept(attempt, throwable);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void fail(Throwable throwable, Consumer<Throwable> failureHandler) {
+        if (failureHandler != null) {
+            failureHandler.accept(throwable);
+        }
+        handleError(throwable);
+    }
+
+    private ScheduledTask executeWithTimeout(Function<CancellationToken, Object> task, CancellationToken token,
+            Consumer<Throwable> failureHandler) {
         CompletableFuture<Object> future = new CompletableFuture<>();
 
         BukkitTask timeoutTask = Bukkit.getScheduler().runTaskLaterAsynchronously(
@@ -71,6 +382,7 @@ public class AsyncSchedulerBuilder extends BaseSchedulerBuilder<AsyncSchedulerBu
                 () -> {
                     if (!future.isDone()) {
                         future.cancel(true);
+                        token.cancel();
                         handleTimeout();
                     }
                 },
@@ -78,57 +390,63 @@ public class AsyncSchedulerBuilder extends BaseSchedulerBuilder<AsyncSchedulerBu
 
         BukkitTask mainTask = scheduleTask(() -> {
             try {
-                Object result = task.get();
+                Object result = invoke(task, token);
                 future.complete(result);
                 timeoutTask.cancel();
             } catch (Exception e) {
                 future.completeExceptionally(e);
                 timeoutTask.cancel();
-                handleError(e);
+                fail(e, failureHandler);
             }
         }, true);
 
-        return new ScheduledTaskImpl(mainTask) {
+        return describe(new ScheduledTaskImpl(mainTask, token) {
             @Override
             public void cancel() {
                 super.cancel();
                 timeoutTask.cancel();
                 future.cancel(true);
             }
-        };
+        });
     }
 
     public <R> ScheduledTask run(Supplier<R> supplier) {
-        return executeTask(() -> {
-            try {
-                lastResult = supplier.get();
-                return lastResult;
-            } catch (Exception e) {
-                handleError(e);
-                return null;
-            }
-        });
+        return launch(() -> executeTask(() -> {
+            lastResult = supplier.get();
+            return lastResult;
+        }));
     }
 
     public <R> AsyncSchedulerBuilder storeResult(Supplier<R> supplier) {
+        requireUntriggered("storeResult");
+
         executeTask(() -> {
-            try {
-                lastResult = supplier.get();
-                return lastResult;
-            } catch (Exception e) {
-                handleError(e);
-                return null;
-            }
+            lastResult = supplier.get();
+            return lastResult;
         });
         return this;
     }
 
     public <R> SyncSchedulerBuilder thenSync(Consumer<R> callback) {
+        requireUntriggered("thenSync");
+
         SyncSchedulerBuilder syncBuilder = new SyncSchedulerBuilder();
 
         CompletableFuture<R> future = new CompletableFuture<>();
+        Trace trace = resolveTrace();
+        Runnable continuation = traced(trace, () -> {
+            if (future.isCompletedExceptionally()) {
+                return;
+            }
+            try {
+                R result = future.join();
+                callback.accept(result);
+            } catch (Exception e) {
+                handleError(e);
+            }
+        }, "thenSync", false);
 
-        executeTask(() -> {
+        Tracer.runWithin(trace, () -> executeTask(() -> {
             try {
                 R result = (R) lastResult;
                 future.complete(result);
@@ -137,27 +455,33 @@ public class AsyncSchedulerBuilder extends BaseSchedulerBuilder<AsyncSchedulerBu
                 handleError(e);
             }
             return null;
-        });
+        }));
 
-        future.thenAccept(result -> {
-            Bukkit.getScheduler().runTask(Scheduler.getPlugin(), () -> {
-                try {
-                    callback.accept(result);
-                } catch (Exception e) {
-                    handleError(e);
-                }
-            });
-        });
+        future.whenComplete((result, throwable) -> scheduleContinuation(continuation, false));
 
         return syncBuilder;
     }
 
     public <R, T> SyncSchedulerBuilder thenSync(Function<R, T> callback) {
+        requireUntriggered("thenSync");
+
         SyncSchedulerBuilder syncBuilder = new SyncSchedulerBuilder();
 
         CompletableFuture<R> future = new CompletableFuture<>();
+        Trace trace = resolveTrace();
+        Runnable continuation = traced(trace, () -> {
+            if (future.isCompletedExceptionally()) {
+                return;
+            }
+            try {
+                R result = future.join();
+                callback.apply(result);
+            } catch (Exception e) {
+                handleError(e);
+            }
+        }, "thenSync", false);
 
-        executeTask(() -> {
+        Tracer.runWithin(trace, () -> executeTask(() -> {
             try {
                 R result = (R) lastResult;
                 future.complete(result);
@@ -166,37 +490,145 @@ public class AsyncSchedulerBuilder extends BaseSchedulerBuilder<AsyncSchedulerBu
                 handleError(e);
             }
             return null;
-        });
+        }));
 
-        future.thenAccept(result -> {
-            Bukkit.getScheduler().runTask(Scheduler.getPlugin(), () -> {
-                try {
-                    callback.apply(result);
-                } catch (Exception e) {
-                    handleError(e);
-                }
-            });
-        });
+        future.whenComplete((result, throwable) -> scheduleContinuation(continuation, false));
 
         return syncBuilder;
     }
 
     public <R> CompletableFuture<R> supply(Supplier<R> supplier) {
+        return supply(token -> supplier.get());
+    }
+
+    public <R> CompletableFuture<R> supply(Function<CancellationToken, R> supplier) {
+        requireUntriggered("supply");
+        if (resolveShardKey() != null) {
+            throw new IllegalStateException("Sharded tasks cannot supply results; use run(...) instead");
+        }
+        if (breaker != null && !breaker.isCallPermitted()) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(breaker.getName()));
+        }
+        if (maxHedges > 0) {
+            return new HedgedCall<>(supplier).start();
+        }
+
         CompletableFuture<R> future = new CompletableFuture<>();
 
-        executeTask(() -> {
-            try {
-                R result = supplier.get();
-                future.complete(result);
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-                handleError(e);
+        ScheduledTask task = executeTask(token -> {
+            R result = supplier.apply(token);
+            future.complete(result);
+            return result;
+        }, future::completeExceptionally);
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                task.cancel();
             }
-            return null;
         });
 
         return future;
     }
 
     private Object lastResult;
+
+    private class HedgedCall<R> {
+        private final Function<CancellationToken, R> supplier;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        private final List<BukkitTask> tasks = new CopyOnWriteArrayList<>();
+        private final List<CancellationToken> tokens = new CopyOnWriteArrayList<>();
+        private final AtomicInteger launched = new AtomicInteger(0);
+        private final AtomicInteger failed = new AtomicInteger(0);
+
+        HedgedCall(Function<CancellationToken, R> supplier) {
+            this.supplier = supplier;
+        }
+
+        CompletableFuture<R> start() {
+            future.whenComplete((result, throwable) -> {
+                tasks.forEach(BukkitTask::cancel);
+                tokens.forEach(CancellationToken::cancel);
+            });
+
+            launch(true);
+
+            long threshold = hedgeTracker != null ? hedgeTracker.percentileTicks(hedgePercentile) : hedgeAfter;
+            if (threshold > 0) {
+                scheduleHedge(delay + threshold, threshold);
+            }
+
+            if (timeout > 0) {
+                tasks.add(Bukkit.getScheduler().runTaskLaterAsynchronously(Scheduler.getPlugin(), () -> {
+                    if (future.completeExceptionally(new TimeoutException("Hedged task timed out"))) {
+                        handleTimeout();
+                    }
+                }, timeout));
+            }
+
+            return future;
+        }
+
+        private void scheduleHedge(long after, long threshold) {
+            tasks.add(dispatch(() -> {
+                if (!future.isDone() && launch(false)) {
+                    scheduleHedge(threshold, threshold);
+                }
+            }, true, after));
+        }
+
+        private boolean launch(boolean primary) {
+            int current;
+            do {
+                current = launched.get();
+                if (current > maxHedges) {
+                    return false;
+                }
+            } while (!launched.compareAndSet(current, current + 1));
+
+            CancellationToken token = new CancellationToken(interruptOnCancel);
+            tokens.add(token);
+
+            Runnable attempt = () -> attempt(token, primary);
+            BukkitTask task = scheduleTask(attempt, true, primary ? delay : 0);
+            tasks.add(task);
+            if (future.isDone()) {
+                task.cancel();
+                token.cancel();
+            }
+            return true;
+        }
+
+        private void attempt(CancellationToken token, boolean primary) {
+            if (future.isDone()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                R result = invoke(supplier, token);
+                if (primary) {
+                    recordLatency(start);
+                }
+                future.complete(result);
+            } catch (Exception e) {
+                if (future.isDone()) {
+                    if (primary) {
+                        recordLatency(start);
+                    }
+                    return;
+                }
+                if (failed.incrementAndGet() < launched.get() || launch(false)) {
+                    return;
+                }
+                if (future.completeExceptionally(e)) {
+                    handleError(e);
+                }
+            }
+        }
+
+        private void recordLatency(long start) {
+            if (hedgeTracker != null) {
+                hedgeTracker.record(System.nanoTime() - start);
+            }
+        }
+    }
 }
\ No newline at end of file
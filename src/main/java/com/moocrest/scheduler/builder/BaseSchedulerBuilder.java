@@ -1,15 +1,27 @@
 package com.moocrest.scheduler.builder;
 
 import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
 import org.bukkit.scheduler.BukkitTask;
 
 import com.moocrest.scheduler.ScheduledTask;
 import com.moocrest.scheduler.Scheduler;
 import com.moocrest.scheduler.impl.ScheduledTaskImpl;
+import com.moocrest.scheduler.impl.TaskRegistry;
+import com.moocrest.scheduler.jfr.TaskEvents;
+import com.moocrest.scheduler.shard.ShardCoordinator;
+import com.moocrest.scheduler.stagger.PhaseBalancer;
+import com.moocrest.scheduler.trace.Trace;
+import com.moocrest.scheduler.trace.Tracer;
+import com.moocrest.scheduler.trigger.EventCondition;
+import com.moocrest.scheduler.trigger.TriggeredTask;
+import com.moocrest.scheduler.watchdog.TaskWatchdog;
 
 import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public abstract class BaseSchedulerBuilder<T extends BaseSchedulerBuilder<T>> {
@@ -19,6 +31,16 @@ public abstract class BaseSchedulerBuilder<T extends BaseSchedulerBuilder<T>> {
     protected long timeout = -1;
     protected Consumer<Throwable> errorHandler;
     protected Runnable timeoutHandler;
+    protected String name;
+    protected String groupName;
+    protected boolean runOnShutdown = false;
+    protected Boolean stagger;
+    protected EventCondition<?> startCondition;
+    protected EventCondition<?> stopCondition;
+    protected String shardKey;
+    protected boolean singleton = false;
+    protected String traceName;
+    private StackTraceElement registrationSite;
 
     @SuppressWarnings("unchecked")
     protected T self() {
@@ -45,6 +67,63 @@ public abstract class BaseSchedulerBuilder<T extends BaseSchedulerBuilder<T>> {
         return self();
     }
 
+    public T name(String name) {
+        this.name = name;
+        return self();
+    }
+
+    public T stagger() {
+        return stagger(true);
+    }
+
+    public T stagger(boolean stagger) {
+        this.stagger = stagger;
+        return self();
+    }
+
+    public T trace(String traceName) {
+        this.traceName = traceName;
+        return self();
+    }
+
+    public T singleton() {
+        this.singleton = true;
+        return self();
+    }
+
+    public T sharded(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Shard key must not be null");
+        }
+        this.shardKey = String.valueOf(key);
+        return self();
+    }
+
+    public T runOnShutdown() {
+        this.runOnShutdown = true;
+        return self();
+    }
+
+    public <E extends Event> T when(Class<E> event, Predicate<? super E> condition) {
+        this.startCondition = EventCondition.matching(event, condition);
+        return self();
+    }
+
+    public <E extends Event> T when(Class<E> event, Function<? super E, ?> keyExtractor, Object key) {
+        this.startCondition = EventCondition.keyed(event, keyExtractor, key);
+        return self();
+    }
+
+    public <E extends Event> T until(Class<E> event, Predicate<? super E> condition) {
+        this.stopCondition = EventCondition.matching(event, condition);
+        return self();
+    }
+
+    public <E extends Event> T until(Class<E> event, Function<? super E, ?> keyExtractor, Object key) {
+        this.stopCondition = EventCondition.keyed(event, keyExtractor, key);
+        return self();
+    }
+
     public T onError(Consumer<Throwable> errorHandler) {
         this.errorHandler = errorHandler;
         return self();
@@ -56,10 +135,10 @@ public abstract class BaseSchedulerBuilder<T extends BaseSchedulerBuilder<T>> {
     }
 
     public ScheduledTask run(Runnable task) {
-        return executeTask(() -> {
+        return launch(() -> executeTask(() -> {
             task.run();
             return null;
-        });
+        }));
     }
 
     public ScheduledTask runIf(BooleanSupplier condition, Runnable task) {
@@ -71,58 +150,223 @@ public abstract class BaseSchedulerBuilder<T extends BaseSchedulerBuilder<T>> {
     }
 
     public ScheduledTask runWhile(BooleanSupplier condition, Runnable task) {
-        return executeRepeatingTask(() -> {
+        return launch(() -> executeRepeatingTask(() -> {
             if (condition.getAsBoolean()) {
                 task.run();
                 return true;
             }
             return false;
-        });
+        }));
     }
 
     public ScheduledTask runUntil(BooleanSupplier condition, Runnable task) {
-        return executeRepeatingTask(() -> {
+        return launch(() -> executeRepeatingTask(() -> {
             if (!condition.getAsBoolean()) {
                 task.run();
                 return true;
             }
             return false;
-        });
+        }));
     }
 
     public <E> ForEachBuilder<E> forEach(List<E> items) {
+        requireUntriggered("forEach");
         return new ForEachBuilder<>(items, this);
     }
 
+    public TaskSpec<T> spec() {
+        if (registrationSite == null) {
+            registrationSite = TaskWatchdog.captureSite();
+        }
+        return new TaskSpec<>(copy());
+    }
+
+    protected T copy() {
+        T copy = newBuilder();
+        copy.copyFrom(self());
+        return copy;
+    }
+
+    protected T newBuilder() {
+        throw new IllegalStateException(getClass().getName() + " does not support spec(); override newBuilder()");
+    }
+
+    protected void copyFrom(T source) {
+        BaseSchedulerBuilder<?> other = source;
+        this.delay = other.delay;
+        this.repeat = other.repeat;
+        this.times = other.times;
+        this.timeout = other.timeout;
+        this.errorHandler = other.errorHandler;
+        this.timeoutHandler = other.timeoutHandler;
+        this.name = other.name;
+        this.groupName = other.groupName;
+        this.runOnShutdown = other.runOnShutdown;
+        this.stagger = other.stagger;
+        this.startCondition = other.startCondition;
+        this.stopCondition = other.stopCondition;
+        this.shardKey = other.shardKey;
+        this.singleton = other.singleton;
+        this.traceName = other.traceName;
+        this.registrationSite = other.registrationSite;
+    }
+
+    protected void requireUntriggered(String operation) {
+        if (startCondition != null || stopCondition != null) {
+            throw new IllegalStateException(operation + "() does not support when/until; use run(...) instead");
+        }
+    }
+
+    protected ScheduledTask launch(Supplier<ScheduledTask> starter) {
+        if (startCondition == null && stopCondition == null) {
+            return starter.get();
+        }
+        return new TriggeredTask(Scheduler.triggers(), startCondition, stopCondition, starter);
+    }
+
     protected abstract ScheduledTask executeTask(Supplier<Object> task);
 
     protected abstract ScheduledTask executeRepeatingTask(Supplier<Boolean> task);
 
+    protected boolean isAsync() {
+        return false;
+    }
+
+    protected Object serialKey() {
+        return null;
+    }
+
     protected BukkitTask scheduleTask(Runnable task, boolean async) {
+        return scheduleTask(task, async, delay);
+    }
+
+    protected BukkitTask scheduleTask(Runnable task, boolean async, long delay) {
+        TaskRegistry.Entry body = Scheduler.registry().register(instrument(task, async, delay, -1),
+                name, groupName, async, delay, false, runOnShutdown, async ? serialKey() : null);
+        if (body.isDeferred()) {
+            return body;
+        }
+
+        BukkitTask bukkitTask = dispatch(body, async, delay);
+        body.attach(bukkitTask);
+        return bukkitTask;
+    }
+
+    protected BukkitTask scheduleContinuation(Runnable task, boolean async) {
+        TaskRegistry.Entry body = Scheduler.registry().register(task, name, groupName, async, 0, false,
+                runOnShutdown, async ? serialKey() : null);
+        if (body.isDeferred()) {
+            return body;
+        }
+
+        BukkitTask bukkitTask = dispatch(body, async, 0);
+        body.attach(bukkitTask);
+        return bukkitTask;
+    }
+
+    protected BukkitTask dispatch(Runnable body, boolean async, long delay) {
         if (async) {
             if (delay > 0) {
-                return Bukkit.getScheduler().runTaskLaterAsynchronously(Scheduler.getPlugin(), task, delay);
+                return Bukkit.getScheduler().runTaskLaterAsynchronously(Scheduler.getPlugin(), body, delay);
             } else {
-                return Bukkit.getScheduler().runTaskAsynchronously(Scheduler.getPlugin(), task);
+                return Bukkit.getScheduler().runTaskAsynchronously(Scheduler.getPlugin(), body);
             }
         } else {
             if (delay > 0) {
-                return Bukkit.getScheduler().runTaskLater(Scheduler.getPlugin(), task, delay);
+                return Bukkit.getScheduler().runTaskLater(Scheduler.getPlugin(), body, delay);
             } else {
-                return Bukkit.getScheduler().runTask(Scheduler.getPlugin(), task);
+                return Bukkit.getScheduler().runTask(Scheduler.getPlugin(), body);
             }
         }
     }
 
     protected BukkitTask scheduleRepeatingTask(Runnable task, boolean async) {
+        PhaseBalancer balancer = Scheduler.phaseBalancer(async);
+        long currentTick = Bukkit.getCurrentTick();
+        long startDelay = delay;
+        if (stagger != null ? stagger : Scheduler.isStaggeringByDefault()) {
+            startDelay += balancer.offsetFor(currentTick + Math.max(delay, 1), repeat);
+        }
+
+        TaskRegistry.Entry body = Scheduler.registry().register(instrument(task, async, startDelay, repeat),
+                name, groupName, async, startDelay, true, runOnShutdown);
+        if (body.isDeferred()) {
+            return body;
+        }
+
+        BukkitTask bukkitTask;
         if (async) {
-            return Bukkit.getScheduler().runTaskTimerAsynchronously(Scheduler.getPlugin(), task, delay, repeat);
+            bukkitTask = Bukkit.getScheduler().runTaskTimerAsynchronously(Scheduler.getPlugin(), body, startDelay, repeat);
         } else {
-            return Bukkit.getScheduler().runTaskTimer(Scheduler.getPlugin(), task, delay, repeat);
+            bukkitTask = Bukkit.getScheduler().runTaskTimer(Scheduler.getPlugin(), body, startDelay, repeat);
         }
+
+        body.attach(bukkitTask);
+        balancer.register(bukkitTask, currentTick + Math.max(startDelay, 1), repeat);
+        return bukkitTask;
+    }
+
+    protected Runnable instrument(Runnable task, boolean async, long delay, long period) {
+        String shard = resolveShardKey();
+        Runnable body = task;
+
+        TaskWatchdog watchdog = TaskWatchdog.current();
+        if (watchdog != null) {
+            if (registrationSite == null) {
+                registrationSite = TaskWatchdog.captureSite();
+            }
+            body = watchdog.monitor(body, name, registrationSite, async);
+        }
+
+        TaskEvents.scheduled(name, groupName, async, delay, period);
+        body = TaskEvents.instrument(body, name, groupName, async, delay, period);
+        if (period <= 0) {
+            Trace trace = resolveTrace();
+            if (trace != null) {
+                body = Scheduler.tracer().hop(trace, body, name, async, delay);
+            }
+        }
+        return shard != null ? ownedBy(shard, body) : body;
+    }
+
+    protected Trace resolveTrace() {
+        Trace trace = Tracer.current();
+        if (trace == null && traceName != null) {
+            trace = Scheduler.tracer().start(traceName);
+        }
+        return trace;
+    }
+
+    protected Runnable traced(Trace trace, Runnable task, String hopName, boolean async) {
+        return trace != null ? Scheduler.tracer().hop(trace, task, hopName, async, 0) : task;
+    }
+
+    protected String resolveShardKey() {
+        if (!singleton) {
+            return shardKey;
+        }
+        if (name == null) {
+            throw new IllegalStateException("Singleton tasks need a name(...) to derive their shard key");
+        }
+        return "singleton:" + name;
+    }
+
+    private static Runnable ownedBy(String shard, Runnable task) {
+        return () -> {
+            ShardCoordinator coordinator = Scheduler.shardCoordinator();
+            if (coordinator == null || coordinator.owns(shard)) {
+                task.run();
+            }
+        };
+    }
+
+    protected <S extends ScheduledTaskImpl> S describe(S task) {
+        task.describe(name, groupName, isAsync());
+        return task;
     }
 
     protected void handleError(Throwable throwable) {
+        Tracer.markFailed();
         if (errorHandler != null) {
             try {
                 errorHandler.accept(throwable);
@@ -135,6 +379,8 @@ public abstract class BaseSchedulerBuilder<T extends BaseSchedulerBuilder<T>> {
     }
 
     protected void handleTimeout() {
+        TaskEvents.timedOut(name, groupName, isAsync(), timeout);
+
         if (timeoutHandler != null) {
             try {
                 timeoutHandler.run();
@@ -193,9 +439,9 @@ public abstract class BaseSchedulerBuilder<T extends BaseSchedulerBuilder<T>> {
             E item = items.get(currentIndex++);
 
             if (itemDelay > 0 && currentIndex > 1) {
-                currentTask = Bukkit.getScheduler().runTaskLater(Scheduler.getPlugin(), () -> {
+                currentTask = builder.scheduleTask(() -> {
                     processItem(item);
-                }, itemDelay);
+                }, false, itemDelay);
             } else {
                 currentTask = builder.scheduleTask(() -> {
                     processItem(item);
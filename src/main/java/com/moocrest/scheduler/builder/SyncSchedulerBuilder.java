@@ -3,8 +3,15 @@ package com.moocrest.scheduler.builder;
 import org.bukkit.scheduler.BukkitTask;
 
 import com.moocrest.scheduler.ScheduledTask;
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.idle.IdleExecutor;
 import com.moocrest.scheduler.impl.ScheduledTaskImpl;
+import com.moocrest.scheduler.impl.TaskRegistry;
+import com.moocrest.scheduler.job.JobContext;
+import com.moocrest.scheduler.job.SyncJob;
+import com.moocrest.scheduler.spread.SpreadTask;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -12,9 +19,56 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class SyncSchedulerBuilder extends BaseSchedulerBuilder<SyncSchedulerBuilder> {
+    private boolean idle = false;
+
+    public SyncSchedulerBuilder idle() {
+        this.idle = true;
+        return this;
+    }
+
+    public <E> SpreadBuilder<E> spread(Supplier<? extends Collection<? extends E>> source, long periodTicks) {
+        return new SpreadBuilder<>(this, source, periodTicks);
+    }
+
+    public <E> SpreadBuilder<E> spread(long periodTicks) {
+        return new SpreadBuilder<>(this, null, periodTicks);
+    }
+
+    public SyncJob job(Consumer<JobContext> body) {
+        if (idle) {
+            throw new IllegalStateException("Idle tasks cannot run jobs");
+        }
+
+        SyncSchedulerBuilder timer = copy();
+        timer.repeat = 1;
+        SyncJob job = new SyncJob(name, body, timer::handleError);
+        job.attach(timer.launch(() -> timer.executeRepeatingTask(job::resume)));
+        Scheduler.registry().own(job);
+        return job;
+    }
+
+    @Override
+    protected boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    protected SyncSchedulerBuilder newBuilder() {
+        return new SyncSchedulerBuilder();
+    }
+
+    @Override
+    protected void copyFrom(SyncSchedulerBuilder source) {
+        super.copyFrom(source);
+        this.idle = source.idle;
+    }
 
     @Override
     protected ScheduledTask executeTask(Supplier<Object> task) {
+        if (idle) {
+            return executeIdle(task);
+        }
+
         if (timeout > 0) {
             return executeWithTimeout(task);
         }
@@ -27,7 +81,7 @@ public class SyncSchedulerBuilder extends BaseSchedulerBuilder<SyncSchedulerBuil
             }
         }, false);
 
-        return new ScheduledTaskImpl(bukkitTask);
+        return describe(new ScheduledTaskImpl(bukkitTask));
     }
 
     @Override
@@ -35,6 +89,9 @@ public class SyncSchedulerBuilder extends BaseSchedulerBuilder<SyncSchedulerBuil
         if (repeat <= 0) {
             throw new IllegalStateException("Repeat interval must be set for repeating tasks");
         }
+        if (idle) {
+            throw new IllegalStateException("Idle tasks cannot repeat");
+        }
 
         AtomicInteger executionCount = new AtomicInteger(0);
         final BukkitTask[] taskRef = new BukkitTask[1];
@@ -58,7 +115,27 @@ public class SyncSchedulerBuilder extends BaseSchedulerBuilder<SyncSchedulerBuil
         }, false);
 
         taskRef[0] = bukkitTask;
-        return new ScheduledTaskImpl(bukkitTask);
+        return describe(new ScheduledTaskImpl(bukkitTask));
+    }
+
+    private ScheduledTask executeIdle(Supplier<Object> task) {
+        Runnable body = instrument(() -> {
+            try {
+                task.get();
+            } catch (Exception e) {
+                handleError(e);
+            }
+        }, false, delay, -1);
+
+        TaskRegistry.Entry entry = Scheduler.registry().register(body, name, groupName, false, delay, false,
+                runOnShutdown);
+        if (entry.isDeferred()) {
+            return describe(new ScheduledTaskImpl(entry));
+        }
+
+        IdleExecutor.IdleTask idleTask = Scheduler.idle().submit(entry, delay);
+        entry.attach(idleTask);
+        return idleTask;
     }
 
     private ScheduledTask executeWithTimeout(Supplier<Object> task) {
@@ -83,17 +160,19 @@ public class SyncSchedulerBuilder extends BaseSchedulerBuilder<SyncSchedulerBuil
             }
         }, false);
 
-        return new ScheduledTaskImpl(mainTask) {
+        return describe(new ScheduledTaskImpl(mainTask) {
             @Override
             public void cancel() {
                 super.cancel();
                 timeoutTask.cancel();
                 future.cancel(true);
             }
-        };
+        });
     }
 
     public SyncSchedulerBuilder thenRun(Runnable task) {
+        requireUntriggered("thenRun");
+
         SyncSchedulerBuilder nextBuilder = new SyncSchedulerBuilder();
         nextBuilder.delay = 0;
 
@@ -106,6 +185,8 @@ public class SyncSchedulerBuilder extends BaseSchedulerBuilder<SyncSchedulerBuil
     }
 
     public <R> AsyncSchedulerBuilder thenAsync(Supplier<R> task) {
+        requireUntriggered("thenAsync");
+
         AsyncSchedulerBuilder asyncBuilder = new AsyncSchedulerBuilder();
 
         executeTask(() -> {
@@ -124,6 +205,8 @@ public class SyncSchedulerBuilder extends BaseSchedulerBuilder<SyncSchedulerBuil
     }
 
     public <R> CompletableFuture<R> supply(Supplier<R> supplier) {
+        requireUntriggered("supply");
+
         CompletableFuture<R> future = new CompletableFuture<>();
 
         executeTask(() -> {
@@ -139,4 +222,31 @@ public class SyncSchedulerBuilder extends BaseSchedulerBuilder<SyncSchedulerBuil
 
         return future;
     }
-}
\ No newline at end of file
+
+    public static class SpreadBuilder<E> {
+        private final SyncSchedulerBuilder builder;
+        private final Supplier<? extends Collection<? extends E>> source;
+        private final long period;
+
+        public SpreadBuilder(SyncSchedulerBuilder builder, Supplier<? extends Collection<? extends E>> source,
+                long period) {
+            if (period < 1) {
+                throw new IllegalArgumentException("Spread period must be at least 1 tick");
+            }
+            this.builder = builder;
+            this.source = source;
+            this.period = period;
+        }
+
+        public SpreadTask<E> run(Consumer<? super E> action) {
+            SyncSchedulerBuilder timer = builder.copy();
+            timer.repeat = 1;
+            SpreadTask<E> task = new SpreadTask<>(source, period, action, timer::handleError);
+            task.attach(timer.launch(() -> timer.executeRepeatingTask(() -> {
+                task.run();
+                return true;
+            })));
+            return task;
+        }
+    }
+}
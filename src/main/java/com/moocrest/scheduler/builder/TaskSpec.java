@@ -0,0 +1,58 @@
+package com.moocrest.scheduler.builder;
+
+import com.moocrest.scheduler.ScheduledTask;
+
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+public final class TaskSpec<B extends BaseSchedulerBuilder<B>> {
+    // Frozen at spec() time and never handed out; launches read it without copying, so it is shared across threads.
+    private final B prototype;
+
+    TaskSpec(B prototype) {
+        this.prototype = prototype;
+    }
+
+    public B builder() {
+        return prototype.copy();
+    }
+
+    public ScheduledTask run(Runnable task) {
+        return prototype.run(task);
+    }
+
+    public <A> ScheduledTask run(Consumer<A> task, A argument) {
+        return prototype.run(() -> task.accept(argument));
+    }
+
+    public <A1, A2> ScheduledTask run(BiConsumer<A1, A2> task, A1 first, A2 second) {
+        return prototype.run(() -> task.accept(first, second));
+    }
+
+    public ScheduledTask runIf(BooleanSupplier condition, Runnable task) {
+        return prototype.runIf(condition, task);
+    }
+
+    public <A> Template<A> bind(Consumer<A> task) {
+        return new Template<>(this, task);
+    }
+
+    public static final class Template<A> {
+        private final TaskSpec<?> spec;
+        private final Consumer<A> task;
+
+        private Template(TaskSpec<?> spec, Consumer<A> task) {
+            this.spec = spec;
+            this.task = task;
+        }
+
+        public ScheduledTask launch(A argument) {
+            return spec.run(task, argument);
+        }
+
+        public TaskSpec<?> getSpec() {
+            return spec;
+        }
+    }
+}
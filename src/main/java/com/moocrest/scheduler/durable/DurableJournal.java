@@ -0,0 +1,449 @@
+package com.moocrest.scheduler.durable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public class DurableJournal implements AutoCloseable {
+    private static final int REGION_SIZE = 16 * 1024 * 1024;
+    private static final int HEADER_SIZE = 8;
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte SEQUENCE = 3;
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Without Unsafe, old mappings are released by the garbage collector.
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Path file;
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long position;
+    private long records;
+    private long highestId;
+
+    public DurableJournal(Path file) {
+        this.file = file;
+    }
+
+    public synchronized Map<Long, DurableTask> open() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            Map<Long, DurableTask> live = replay();
+            map(position);
+            return live;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open durable task journal " + file, e);
+        }
+    }
+
+    public synchronized void append(DurableTask task) {
+        byte[] handler = task.getHandlerId().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = task.getPayload() != null ? task.getPayload().getBytes(StandardCharsets.UTF_8) : null;
+        if (handler.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Handler id is too long");
+        }
+
+        int bodyLength = 1 + 8 + 8 + 2 + handler.length + 4 + (payload != null ? payload.length : 0);
+        ByteBuffer body = begin(bodyLength);
+        body.put(ADD);
+        body.putLong(task.getId());
+        body.putLong(task.getDueAt());
+        body.putShort((short) handler.length);
+        body.put(handler);
+        body.putInt(payload != null ? payload.length : -1);
+        if (payload != null) {
+            body.put(payload);
+        }
+        commit(bodyLength);
+        highestId = Math.max(highestId, task.getId());
+    }
+
+    public synchronized void remove(long id) {
+        writeMarker(REMOVE, id);
+    }
+
+    public synchronized long getHighestId() {
+        return highestId;
+    }
+
+    public void compact(Collection<DurableTask> live) {
+        synchronized (this) {
+            Compaction compaction = beginCompaction();
+            compaction.write(live);
+            commit(compaction);
+        }
+    }
+
+    public synchronized Compaction beginCompaction() {
+        if (channel == null) {
+            throw new IllegalStateException("Durable task journal is not open");
+        }
+        return new Compaction(file.resolveSibling(file.getFileName() + ".compact"), highestId, position, records);
+    }
+
+    public synchronized void commit(Compaction compaction) {
+        if (channel == null || compaction.target == null) {
+            compaction.abort();
+            throw new IllegalStateException("Compaction requires an open journal and a written snapshot");
+        }
+
+        long size;
+        long count;
+        try {
+            copyTail(compaction.mark, records - compaction.markRecords, compaction.target);
+            size = compaction.target.getSize();
+            count = compaction.target.getRecordCount();
+            compaction.target.close();
+        } catch (IOException | RuntimeException e) {
+            compaction.abort();
+            throw e instanceof IOException
+                    ? new UncheckedIOException("Failed to compact durable task journal " + file, (IOException) e)
+                    : (RuntimeException) e;
+        }
+
+        try {
+            swap(compaction.path, size, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact durable task journal " + file, e);
+        }
+    }
+
+    public synchronized void force() {
+        if (region != null) {
+            region.force();
+        }
+    }
+
+    public synchronized long getSize() {
+        return position;
+    }
+
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            closeChannel();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close durable task journal " + file, e);
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel == null) {
+            return;
+        }
+
+        force();
+        releaseRegion();
+        try {
+            channel.truncate(position);
+        } catch (IOException e) {
+            // Replay stops at the zero header if the platform refuses to truncate.
+        }
+        channel.close();
+        channel = null;
+    }
+
+    private void copyTail(long mark, long count, DurableJournal target) throws IOException {
+        int length = (int) (position - mark);
+        if (length <= 0) {
+            return;
+        }
+
+        ByteBuffer tail = ByteBuffer.allocate(length);
+        while (tail.hasRemaining()) {
+            if (channel.read(tail, mark + tail.position()) < 0) {
+                throw new IOException("Durable task journal ended before its tail");
+            }
+        }
+        tail.flip();
+        target.appendRaw(tail, count);
+    }
+
+    private synchronized void appendRaw(ByteBuffer bytes, long count) {
+        int length = bytes.remaining();
+        if (position + length + 4 > regionStart + region.capacity()) {
+            map(position, length);
+        }
+
+        int offset = (int) (position - regionStart);
+        region.position(offset);
+        region.put(bytes);
+        region.putInt(offset + length, 0);
+        position += length;
+        records += count;
+    }
+
+    private void swap(Path compacted, long size, long count) throws IOException {
+        force();
+        try {
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException first) {
+            // Windows will not replace a file that is still mapped, so release the mapping and retry once.
+            releaseRegion();
+            try {
+                Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException second) {
+                second.addSuppressed(first);
+                map(position);
+                Files.deleteIfExists(compacted);
+                throw second;
+            }
+        }
+
+        FileChannel previous = channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            channel = previous;
+            if (region == null) {
+                map(position);
+            }
+            throw e;
+        }
+
+        releaseRegion();
+        try {
+            previous.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        position = size;
+        records = count;
+        map(position);
+    }
+
+    private void releaseRegion() {
+        MappedByteBuffer previous = region;
+        region = null;
+        unmap(previous);
+    }
+
+    private static void unmap(MappedByteBuffer buffer) {
+        if (buffer == null || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Left to the garbage collector.
+        }
+    }
+
+    private void writeMarker(byte type, long id) {
+        ByteBuffer body = begin(1 + 8);
+        body.put(type);
+        body.putLong(id);
+        commit(1 + 8);
+        highestId = Math.max(highestId, id);
+    }
+
+    private ByteBuffer begin(int bodyLength) {
+        if (channel == null) {
+            throw new IllegalStateException("Durable task journal is not open");
+        }
+
+        int recordLength = HEADER_SIZE + bodyLength;
+        if (position + recordLength + 4 > regionStart + region.capacity()) {
+            map(position, recordLength);
+        }
+
+        region.position((int) (position - regionStart) + HEADER_SIZE);
+        return region;
+    }
+
+    private void commit(int bodyLength) {
+        int offset = (int) (position - regionStart);
+        int recordLength = HEADER_SIZE + bodyLength;
+
+        crc.reset();
+        crc.update(region.duplicate().position(offset + HEADER_SIZE).limit(offset + recordLength));
+        region.putInt(offset + 4, (int) crc.getValue());
+        region.putInt(offset + recordLength, 0);
+        region.putInt(offset, bodyLength);
+
+        position += recordLength;
+        records++;
+    }
+
+    private void map(long start) {
+        map(start, 0);
+    }
+
+    private void map(long start, int minimum) {
+        try {
+            long size = Math.max(REGION_SIZE, minimum + 4L);
+            MappedByteBuffer previous = region;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+            regionStart = start;
+            if (previous != null) {
+                previous.force();
+                unmap(previous);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map durable task journal " + file, e);
+        }
+    }
+
+    private Map<Long, DurableTask> replay() throws IOException {
+        Map<Long, DurableTask> live = new HashMap<>();
+        long size = channel.size();
+        position = 0;
+        records = 0;
+        highestId = 0;
+
+        if (size == 0) {
+            return live;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Durable task journal exceeds 2 GB; compact it before restarting");
+        }
+
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        try {
+            return replay(buffer, live);
+        } finally {
+            unmap(buffer);
+        }
+    }
+
+    private Map<Long, DurableTask> replay(MappedByteBuffer buffer, Map<Long, DurableTask> live) {
+        byte[] lastHandlerBytes = new byte[0];
+        String lastHandler = "";
+
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+
+            int bodyStart = buffer.position();
+            crc.reset();
+            crc.update(buffer.duplicate().limit(bodyStart + length));
+            if ((int) crc.getValue() != checksum) {
+                buffer.position(start);
+                break;
+            }
+
+            byte type = buffer.get();
+            long id = buffer.getLong();
+            if (type == ADD) {
+                long dueAt = buffer.getLong();
+                byte[] handlerBytes = new byte[buffer.getShort()];
+                buffer.get(handlerBytes);
+                if (!Arrays.equals(handlerBytes, lastHandlerBytes)) {
+                    lastHandlerBytes = handlerBytes;
+                    lastHandler = new String(handlerBytes, StandardCharsets.UTF_8);
+                }
+
+                int payloadLength = buffer.getInt();
+                String payload = null;
+                if (payloadLength >= 0) {
+                    byte[] payloadBytes = new byte[payloadLength];
+                    buffer.get(payloadBytes);
+                    payload = new String(payloadBytes, StandardCharsets.UTF_8);
+                }
+                live.put(id, new DurableTask(id, lastHandler, dueAt, payload));
+            } else if (type == REMOVE) {
+                live.remove(id);
+            }
+            buffer.position(bodyStart + length);
+            highestId = Math.max(highestId, id);
+            records++;
+        }
+
+        position = buffer.position();
+        return live;
+    }
+
+    public static final class Compaction {
+        private final Path path;
+        private final long highestId;
+        private final long mark;
+        private final long markRecords;
+        private DurableJournal target;
+
+        private Compaction(Path path, long highestId, long mark, long markRecords) {
+            this.path = path;
+            this.highestId = highestId;
+            this.mark = mark;
+            this.markRecords = markRecords;
+        }
+
+        public void write(Collection<DurableTask> live) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to prepare durable task compaction " + path, e);
+            }
+
+            target = new DurableJournal(path);
+            target.open();
+            try {
+                synchronized (target) {
+                    target.writeMarker(SEQUENCE, highestId);
+                }
+                for (DurableTask task : live) {
+                    target.append(task);
+                }
+            } catch (RuntimeException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        public void abort() {
+            try {
+                if (target != null) {
+                    target.close();
+                }
+                Files.deleteIfExists(path);
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.moocrest.scheduler.durable;
+
+public final class DurableTask {
+    private final long id;
+    private final String handlerId;
+    private final long dueAt;
+    private final String payload;
+
+    public DurableTask(long id, String handlerId, long dueAt, String payload) {
+        this.id = id;
+        this.handlerId = handlerId;
+        this.dueAt = dueAt;
+        this.payload = payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getHandlerId() {
+        return handlerId;
+    }
+
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
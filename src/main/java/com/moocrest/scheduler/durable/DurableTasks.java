@@ -0,0 +1,223 @@
+package com.moocrest.scheduler.durable;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.moocrest.scheduler.Scheduler;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class DurableTasks {
+    private static final int COMPACTION_MIN_RECORDS = 4096;
+
+    private final DurableJournal journal;
+    private final Map<Long, DurableTask> live = new HashMap<>();
+    private final PriorityQueue<DurableTask> queue = new PriorityQueue<>(
+            Comparator.comparingLong(DurableTask::getDueAt).thenComparingLong(DurableTask::getId));
+    private final Map<String, List<DurableTask>> parked = new HashMap<>();
+    private final Map<String, Consumer<DurableTask>> handlers = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private int maxDispatchPerTick = 1000;
+    private BukkitTask dispatcher;
+    private BukkitTask maintenance;
+    private boolean open;
+    private boolean compacting;
+
+    public DurableTasks(Path file) {
+        this.journal = new DurableJournal(file);
+    }
+
+    public synchronized int recover() {
+        if (open) {
+            return live.size();
+        }
+
+        Map<Long, DurableTask> recovered = journal.open();
+        live.putAll(recovered);
+
+        List<DurableTask> ordered = new ArrayList<>(recovered.values());
+        ordered.sort(queue.comparator());
+        queue.addAll(ordered);
+        nextId.set(journal.getHighestId() + 1);
+        open = true;
+        return recovered.size();
+    }
+
+    public synchronized void start() {
+        if (dispatcher != null) {
+            return;
+        }
+
+        dispatcher = Bukkit.getScheduler().runTaskTimer(Scheduler.getPlugin(),
+                () -> dispatchDue(System.currentTimeMillis()), 1, 1);
+        maintenance = Bukkit.getScheduler().runTaskTimerAsynchronously(Scheduler.getPlugin(),
+                this::maintain, 20, 20);
+    }
+
+    public DurableTasks maxDispatchPerTick(int maxDispatchPerTick) {
+        if (maxDispatchPerTick < 1) {
+            throw new IllegalArgumentException("maxDispatchPerTick must be at least 1");
+        }
+        this.maxDispatchPerTick = maxDispatchPerTick;
+        return this;
+    }
+
+    public DurableTasks register(String handlerId, Consumer<DurableTask> handler) {
+        handlers.put(handlerId, handler);
+
+        synchronized (this) {
+            List<DurableTask> waiting = parked.remove(handlerId);
+            if (waiting != null) {
+                queue.addAll(waiting);
+            }
+        }
+        return this;
+    }
+
+    public long schedule(String handlerId, String payload, Duration delay) {
+        return scheduleAt(handlerId, payload, Instant.now().plus(delay));
+    }
+
+    public synchronized long scheduleAt(String handlerId, String payload, Instant at) {
+        ensureOpen();
+
+        DurableTask task = new DurableTask(nextId.getAndIncrement(), handlerId, at.toEpochMilli(), payload);
+        journal.append(task);
+        live.put(task.getId(), task);
+        queue.add(task);
+        return task.getId();
+    }
+
+    public synchronized boolean cancel(long id) {
+        ensureOpen();
+
+        DurableTask task = live.remove(id);
+        if (task == null) {
+            return false;
+        }
+        journal.remove(id);
+        return true;
+    }
+
+    public synchronized DurableTask get(long id) {
+        return live.get(id);
+    }
+
+    public synchronized int getPendingCount() {
+        return live.size();
+    }
+
+    public int dispatchDue(long now) {
+        List<DurableTask> due = new ArrayList<>();
+
+        synchronized (this) {
+            if (!open) {
+                return 0;
+            }
+
+            while (due.size() < maxDispatchPerTick && !queue.isEmpty() && queue.peek().getDueAt() <= now) {
+                DurableTask task = queue.poll();
+                if (live.get(task.getId()) != task) {
+                    continue;
+                }
+                if (!handlers.containsKey(task.getHandlerId())) {
+                    parked.computeIfAbsent(task.getHandlerId(), key -> new ArrayList<>()).add(task);
+                    continue;
+                }
+                due.add(task);
+            }
+        }
+
+        for (DurableTask task : due) {
+            try {
+                handlers.get(task.getHandlerId()).accept(task);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+
+            synchronized (this) {
+                if (live.remove(task.getId(), task)) {
+                    journal.remove(task.getId());
+                }
+            }
+        }
+
+        return due.size();
+    }
+
+    public void compact() {
+        DurableJournal.Compaction compaction;
+        List<DurableTask> snapshot;
+        synchronized (this) {
+            ensureOpen();
+            if (compacting) {
+                return;
+            }
+            compacting = true;
+            compaction = journal.beginCompaction();
+            snapshot = new ArrayList<>(live.values());
+        }
+
+        try {
+            compaction.write(snapshot);
+            synchronized (this) {
+                if (!open) {
+                    compaction.abort();
+                    return;
+                }
+                journal.commit(compaction);
+                queue.removeIf(task -> live.get(task.getId()) != task);
+            }
+        } finally {
+            synchronized (this) {
+                compacting = false;
+            }
+        }
+    }
+
+    public synchronized void close() {
+        if (dispatcher != null) {
+            dispatcher.cancel();
+            maintenance.cancel();
+            dispatcher = null;
+            maintenance = null;
+        }
+        if (open) {
+            journal.close();
+            open = false;
+        }
+    }
+
+    private void maintain() {
+        boolean shouldCompact;
+        synchronized (this) {
+            if (!open) {
+                return;
+            }
+            long records = journal.getRecordCount();
+            shouldCompact = !compacting && records >= COMPACTION_MIN_RECORDS && records > live.size() * 2L;
+        }
+
+        journal.force();
+        if (shouldCompact) {
+            compact();
+        }
+    }
+
+    private void ensureOpen() {
+        if (!open) {
+            throw new IllegalStateException("Durable tasks are not open. Call recover() first.");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.moocrest.scheduler.graph;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class GraphReport {
+    private final String graph;
+    private final List<NodeReport> nodes;
+    private final Object[] results;
+    private final long elapsedNanos;
+    private final List<NodeReport> criticalPath;
+
+    GraphReport(String graph, List<NodeReport> nodes, Object[] results, long elapsedNanos) {
+        this.graph = graph;
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.results = results;
+        this.elapsedNanos = elapsedNanos;
+        this.criticalPath = Collections.unmodifiableList(traceCriticalPath(nodes));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(TaskGraph.Node<T> node) {
+        NodeReport report = nodes.get(node.getIndex());
+        if (report.getStatus() != Status.SUCCEEDED) {
+            throw new IllegalStateException("Graph node " + node.getName() + " did not succeed: " + report.getStatus());
+        }
+        return (T) results[node.getIndex()];
+    }
+
+    public NodeReport getNode(String name) {
+        for (NodeReport node : nodes) {
+            if (node.getName().equals(name)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    public List<NodeReport> getNodes() {
+        return nodes;
+    }
+
+    public List<NodeReport> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    public boolean isSuccessful() {
+        for (NodeReport node : nodes) {
+            if (node.getStatus() != Status.SUCCEEDED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder path = new StringBuilder();
+        for (NodeReport node : criticalPath) {
+            if (path.length() > 0) {
+                path.append(" -> ");
+            }
+            path.append(node.getName()).append('(').append(node.getRunNanos() / 1_000_000).append("ms)");
+        }
+        return "GraphReport{graph=" + graph
+                + ", nodes=" + nodes.size()
+                + ", successful=" + isSuccessful()
+                + ", elapsed=" + getElapsed().toMillis() + "ms"
+                + ", criticalPath=[" + path + "]}";
+    }
+
+    private static List<NodeReport> traceCriticalPath(List<NodeReport> nodes) {
+        NodeReport last = null;
+        for (NodeReport node : nodes) {
+            if (node.finishedAt >= 0 && (last == null || node.finishedAt > last.finishedAt)) {
+                last = node;
+            }
+        }
+
+        List<NodeReport> path = new ArrayList<>();
+        for (NodeReport node = last; node != null; node = node.releasedBy) {
+            node.criticalPath = true;
+            path.add(0, node);
+        }
+        return path;
+    }
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    public static final class NodeReport {
+        private final String name;
+        private final boolean async;
+        Status status = Status.CANCELLED;
+        Throwable error;
+        long readyAt = -1;
+        long startedAt = -1;
+        long finishedAt = -1;
+        NodeReport releasedBy;
+        boolean criticalPath;
+
+        NodeReport(String name, boolean async) {
+            this.name = name;
+            this.async = async;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        public long getQueueNanos() {
+            return readyAt >= 0 && startedAt >= 0 ? startedAt - readyAt : 0;
+        }
+
+        public long getRunNanos() {
+            return startedAt >= 0 && finishedAt >= 0 ? finishedAt - startedAt : 0;
+        }
+
+        public long getStartOffsetNanos() {
+            return startedAt;
+        }
+
+        public long getFinishOffsetNanos() {
+            return finishedAt;
+        }
+
+        public boolean isOnCriticalPath() {
+            return criticalPath;
+        }
+
+        @Override
+        public String toString() {
+            return name + "{" + status
+                    + ", queue=" + getQueueNanos() / 1_000 + "us"
+                    + ", run=" + getRunNanos() / 1_000 + "us"
+                    + (criticalPath ? ", critical" : "") + "}";
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.moocrest.scheduler.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class TaskGraph {
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+
+    private final String name;
+    private final Executor syncExecutor;
+    private final Executor asyncExecutor;
+    private final List<Node<?>> nodes = new ArrayList<>();
+
+    public TaskGraph(String name, Executor syncExecutor, Executor asyncExecutor) {
+        this.name = name;
+        this.syncExecutor = syncExecutor;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public <R> Node<R> sync(String name, Supplier<R> task) {
+        return add(name, false, inputs -> task.get());
+    }
+
+    public <R> Node<R> async(String name, Supplier<R> task) {
+        return add(name, true, inputs -> task.get());
+    }
+
+    public <A, R> Node<R> sync(String name, Node<A> dependency, Function<? super A, R> task) {
+        return add(name, false, inputs -> task.apply(inputs.get(dependency)), dependency);
+    }
+
+    public <A, R> Node<R> async(String name, Node<A> dependency, Function<? super A, R> task) {
+        return add(name, true, inputs -> task.apply(inputs.get(dependency)), dependency);
+    }
+
+    public <A, B, R> Node<R> sync(String name, Node<A> first, Node<B> second,
+            BiFunction<? super A, ? super B, R> task) {
+        return add(name, false, inputs -> task.apply(inputs.get(first), inputs.get(second)), first, second);
+    }
+
+    public <A, B, R> Node<R> async(String name, Node<A> first, Node<B> second,
+            BiFunction<? super A, ? super B, R> task) {
+        return add(name, true, inputs -> task.apply(inputs.get(first), inputs.get(second)), first, second);
+    }
+
+    public <R> Node<R> sync(String name, Function<Inputs, R> task, Node<?>... dependencies) {
+        return add(name, false, task, dependencies);
+    }
+
+    public <R> Node<R> async(String name, Function<Inputs, R> task, Node<?>... dependencies) {
+        return add(name, true, task, dependencies);
+    }
+
+    public synchronized List<Node<?>> getNodes() {
+        return Collections.unmodifiableList(new ArrayList<>(nodes));
+    }
+
+    public CompletableFuture<GraphReport> run() {
+        List<Node<?>> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(nodes);
+        }
+        return new Execution(snapshot).start();
+    }
+
+    private synchronized <R> Node<R> add(String name, boolean async, Function<Inputs, R> task,
+            Node<?>... dependencies) {
+        if (name == null || task == null) {
+            throw new IllegalArgumentException("Graph nodes need a name and a task");
+        }
+        for (Node<?> node : nodes) {
+            if (node.name.equals(name)) {
+                throw new IllegalArgumentException("Duplicate graph node: " + name);
+            }
+        }
+        for (Node<?> dependency : dependencies) {
+            if (dependency == null || dependency.graph != this) {
+                throw new IllegalArgumentException("Dependencies must be nodes of the same graph");
+            }
+        }
+
+        Node<R> node = new Node<>(this, nodes.size(), name, async, List.of(dependencies), task);
+        nodes.add(node);
+        return node;
+    }
+
+    public static final class Node<R> {
+        private final TaskGraph graph;
+        private final int index;
+        private final String name;
+        private final boolean async;
+        private final List<Node<?>> dependencies;
+        private final Function<Inputs, R> task;
+
+        private Node(TaskGraph graph, int index, String name, boolean async, List<Node<?>> dependencies,
+                Function<Inputs, R> task) {
+            this.graph = graph;
+            this.index = index;
+            this.name = name;
+            this.async = async;
+            this.dependencies = dependencies;
+            this.task = task;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public List<Node<?>> getDependencies() {
+            return dependencies;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    public static final class Inputs {
+        private final Node<?> node;
+        private final Object[] results;
+
+        private Inputs(Node<?> node, Object[] results) {
+            this.node = node;
+            this.results = results;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(Node<T> dependency) {
+            if (!node.dependencies.contains(dependency)) {
+                throw new IllegalArgumentException(dependency.name + " is not a dependency of " + node.name);
+            }
+            return (T) results[dependency.index];
+        }
+    }
+
+    private final class Execution {
+        private final List<Node<?>> nodes;
+        private final List<List<Node<?>>> dependents;
+        private final Object[] results;
+        private final GraphReport.NodeReport[] reports;
+        private final AtomicIntegerArray remaining;
+        private final AtomicIntegerArray states;
+        private final AtomicInteger unsettled;
+        private final CompletableFuture<GraphReport> future = new CompletableFuture<>();
+        private final long startNanos = System.nanoTime();
+        private volatile Throwable firstFailure;
+
+        private Execution(List<Node<?>> nodes) {
+            this.nodes = nodes;
+            this.dependents = new ArrayList<>(nodes.size());
+            this.results = new Object[nodes.size()];
+            this.reports = new GraphReport.NodeReport[nodes.size()];
+            this.remaining = new AtomicIntegerArray(nodes.size());
+            this.states = new AtomicIntegerArray(nodes.size());
+            this.unsettled = new AtomicInteger(nodes.size());
+
+            for (Node<?> node : nodes) {
+                dependents.add(new ArrayList<>());
+                remaining.set(node.index, node.dependencies.size());
+                reports[node.index] = new GraphReport.NodeReport(node.name, node.async);
+            }
+            for (Node<?> node : nodes) {
+                for (Node<?> dependency : node.dependencies) {
+                    dependents.get(dependency.index).add(node);
+                }
+            }
+        }
+
+        private CompletableFuture<GraphReport> start() {
+            if (nodes.isEmpty()) {
+                future.complete(report());
+                return future;
+            }
+
+            future.whenComplete((report, throwable) -> {
+                if (future.isCancelled()) {
+                    for (Node<?> node : nodes) {
+                        cancel(node);
+                    }
+                }
+            });
+
+            for (Node<?> node : nodes) {
+                if (node.dependencies.isEmpty()) {
+                    ready(node, null);
+                }
+            }
+            return future;
+        }
+
+        private void ready(Node<?> node, Node<?> releasedBy) {
+            if (!states.compareAndSet(node.index, PENDING, RUNNING)) {
+                return;
+            }
+
+            GraphReport.NodeReport report = reports[node.index];
+            report.readyAt = System.nanoTime() - startNanos;
+            report.releasedBy = releasedBy != null ? reports[releasedBy.index] : null;
+            try {
+                (node.async ? asyncExecutor : syncExecutor).execute(() -> execute(node));
+            } catch (Exception e) {
+                settle(node, GraphReport.Status.FAILED, e);
+            }
+        }
+
+        private void execute(Node<?> node) {
+            GraphReport.NodeReport report = reports[node.index];
+            report.startedAt = System.nanoTime() - startNanos;
+            if (future.isDone()) {
+                settle(node, GraphReport.Status.CANCELLED, null);
+                return;
+            }
+
+            try {
+                results[node.index] = node.task.apply(new Inputs(node, results));
+                settle(node, GraphReport.Status.SUCCEEDED, null);
+            } catch (Throwable throwable) {
+                settle(node, GraphReport.Status.FAILED, throwable);
+            }
+        }
+
+        private void cancel(Node<?> node) {
+            if (states.compareAndSet(node.index, PENDING, DONE)) {
+                GraphReport.NodeReport report = reports[node.index];
+                report.status = GraphReport.Status.CANCELLED;
+                for (Node<?> dependent : dependents.get(node.index)) {
+                    cancel(dependent);
+                }
+                finishOne();
+            }
+        }
+
+        private void settle(Node<?> node, GraphReport.Status status, Throwable error) {
+            GraphReport.NodeReport report = reports[node.index];
+            report.finishedAt = System.nanoTime() - startNanos;
+            report.status = status;
+            report.error = error;
+            states.set(node.index, DONE);
+
+            if (status == GraphReport.Status.SUCCEEDED) {
+                for (Node<?> dependent : dependents.get(node.index)) {
+                    if (remaining.decrementAndGet(dependent.index) == 0) {
+                        ready(dependent, node);
+                    }
+                }
+            } else {
+                if (status == GraphReport.Status.FAILED && firstFailure == null) {
+                    firstFailure = error;
+                }
+                for (Node<?> dependent : dependents.get(node.index)) {
+                    cancel(dependent);
+                }
+            }
+            finishOne();
+        }
+
+        private void finishOne() {
+            if (unsettled.decrementAndGet() != 0) {
+                return;
+            }
+
+            GraphReport report = report();
+            Throwable failure = firstFailure;
+            if (failure != null) {
+                future.completeExceptionally(new TaskGraphException(name, report, failure));
+            } else {
+                future.complete(report);
+            }
+        }
+
+        private GraphReport report() {
+            return new GraphReport(name, Arrays.asList(reports.clone()), results.clone(),
+                    System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.moocrest.scheduler.graph;
+
+public class TaskGraphException extends RuntimeException {
+    private final GraphReport report;
+
+    public TaskGraphException(String graph, GraphReport report, Throwable cause) {
+        super("Task graph " + graph + " failed: " + cause, cause);
+        this.report = report;
+    }
+
+    public GraphReport getReport() {
+        return report;
+    }
+}
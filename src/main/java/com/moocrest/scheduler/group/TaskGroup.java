@@ -3,8 +3,11 @@ package com.moocrest.scheduler.group;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+import com.moocrest.scheduler.CancellationToken;
 import com.moocrest.scheduler.ScheduledTask;
+import com.moocrest.scheduler.breaker.CircuitBreaker;
 import com.moocrest.scheduler.builder.AsyncSchedulerBuilder;
 import com.moocrest.scheduler.builder.SyncSchedulerBuilder;
 
@@ -12,6 +15,8 @@ public class TaskGroup {
     private final String name;
     private final ConcurrentMap<Long, ScheduledTask> tasks = new ConcurrentHashMap<>();
     private final AtomicLong taskIdCounter = new AtomicLong(0);
+    private volatile String shardKey;
+    private volatile CircuitBreaker breaker;
 
     public TaskGroup(String name) {
         this.name = name;
@@ -21,6 +26,32 @@ public class TaskGroup {
         return name;
     }
 
+    public String getShardKey() {
+        return shardKey;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return breaker;
+    }
+
+    public TaskGroup circuitBreaker(CircuitBreaker breaker) {
+        this.breaker = breaker;
+        return this;
+    }
+
+    public TaskGroup singleton() {
+        this.shardKey = "singleton:group:" + name;
+        return this;
+    }
+
+    public TaskGroup sharded(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Shard key must not be null");
+        }
+        this.shardKey = String.valueOf(key);
+        return this;
+    }
+
     public GroupSyncSchedulerBuilder sync() {
         return new GroupSyncSchedulerBuilder(this);
     }
@@ -61,6 +92,13 @@ public class TaskGroup {
 
         public GroupSyncSchedulerBuilder(TaskGroup group) {
             this.group = group;
+            this.groupName = group.getName();
+            this.shardKey = group.getShardKey();
+        }
+
+        @Override
+        protected SyncSchedulerBuilder newBuilder() {
+            return new GroupSyncSchedulerBuilder(group);
         }
 
         @Override
@@ -77,6 +115,14 @@ public class TaskGroup {
 
         public GroupAsyncSchedulerBuilder(TaskGroup group) {
             this.group = group;
+            this.groupName = group.getName();
+            this.shardKey = group.getShardKey();
+            circuitBreaker(group.getCircuitBreaker());
+        }
+
+        @Override
+        protected AsyncSchedulerBuilder newBuilder() {
+            return new GroupAsyncSchedulerBuilder(group);
         }
 
         @Override
@@ -86,6 +132,14 @@ public class TaskGroup {
 
             return new GroupScheduledTask(scheduledTask, group, taskId);
         }
+
+        @Override
+        public ScheduledTask run(Consumer<CancellationToken> task) {
+            ScheduledTask scheduledTask = super.run(task);
+            long taskId = group.addTask(scheduledTask);
+
+            return new GroupScheduledTask(scheduledTask, group, taskId);
+        }
     }
 
     private static class GroupScheduledTask implements ScheduledTask {
@@ -114,5 +168,10 @@ public class TaskGroup {
         public org.bukkit.scheduler.BukkitTask getBukkitTask() {
             return delegate.getBukkitTask();
         }
+
+        @Override
+        public int getAttempts() {
+            return delegate.getAttempts();
+        }
     }
 }
\ No newline at end of file
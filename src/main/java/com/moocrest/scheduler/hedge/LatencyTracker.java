@@ -0,0 +1,63 @@
+package com.moocrest.scheduler.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyTracker {
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AtomicLongArray samples;
+    private final AtomicLong cursor = new AtomicLong(0);
+    private final int minSamples;
+
+    public LatencyTracker() {
+        this(256, 20);
+    }
+
+    public LatencyTracker(int capacity, int minSamples) {
+        if (capacity <= 0 || minSamples <= 0 || minSamples > capacity) {
+            throw new IllegalArgumentException("Require 0 < minSamples <= capacity");
+        }
+        this.samples = new AtomicLongArray(capacity);
+        this.minSamples = minSamples;
+    }
+
+    public void record(long nanos) {
+        int slot = (int) (cursor.getAndIncrement() % samples.length());
+        samples.set(slot, nanos);
+    }
+
+    public int getSampleCount() {
+        return (int) Math.min(cursor.get(), samples.length());
+    }
+
+    public long percentileNanos(double percentile) {
+        if (percentile <= 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+
+        int count = getSampleCount();
+        if (count < minSamples) {
+            return -1;
+        }
+
+        long[] snapshot = new long[count];
+        for (int i = 0; i < count; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return snapshot[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    public long percentileTicks(double percentile) {
+        long nanos = percentileNanos(percentile);
+        if (nanos < 0) {
+            return -1;
+        }
+        return Math.max(1, (nanos + NANOS_PER_TICK - 1) / NANOS_PER_TICK);
+    }
+}
@@ -0,0 +1,188 @@
+package com.moocrest.scheduler.idle;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+
+import com.moocrest.scheduler.ScheduledTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IdleExecutor implements Listener {
+    private static final int NEW = 0;
+    private static final int QUEUED = 1;
+    private static final int DONE = 2;
+
+    private final Queue<IdleTask> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile long reserveNanos = TimeUnit.MILLISECONDS.toNanos(1);
+    private volatile int maxDeferTicks = 200;
+    private volatile long currentTick;
+    private volatile Plugin plugin;
+
+    public void start(Plugin plugin) {
+        if (started.compareAndSet(false, true)) {
+            this.plugin = plugin;
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+        }
+    }
+
+    public IdleExecutor reserve(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Reserve must not be negative");
+        }
+        this.reserveNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        return this;
+    }
+
+    public IdleExecutor maxDeferTicks(int ticks) {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("maxDeferTicks must be at least 1");
+        }
+        this.maxDeferTicks = ticks;
+        return this;
+    }
+
+    public IdleTask submit(Runnable task) {
+        IdleTask idleTask = new IdleTask(task);
+        enqueue(idleTask);
+        return idleTask;
+    }
+
+    public IdleTask submit(Runnable task, long delayTicks) {
+        if (delayTicks <= 0) {
+            return submit(task);
+        }
+        if (plugin == null) {
+            throw new IllegalStateException("Idle executor is not started");
+        }
+
+        IdleTask idleTask = new IdleTask(task);
+        idleTask.delayTask = Bukkit.getScheduler().runTaskLater(plugin, () -> enqueue(idleTask), delayTicks);
+        return idleTask;
+    }
+
+    private void enqueue(IdleTask task) {
+        if (!task.state.compareAndSet(NEW, QUEUED)) {
+            return;
+        }
+
+        task.queuedTick = currentTick;
+        pending.incrementAndGet();
+        queue.add(task);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        drain(event.getTickNumber(), event.getTimeRemaining());
+    }
+
+    public int drain(long tick, long remainingNanos) {
+        currentTick = tick;
+        long deadline = System.nanoTime() + remainingNanos - reserveNanos;
+        int executed = 0;
+
+        IdleTask task;
+        while ((task = queue.peek()) != null) {
+            boolean overdue = tick - task.queuedTick >= maxDeferTicks;
+            if (!overdue && System.nanoTime() >= deadline) {
+                break;
+            }
+
+            queue.poll();
+            if (!task.claim()) {
+                continue;
+            }
+
+            executed++;
+            try {
+                task.task.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return executed;
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public void reset() {
+        queue.clear();
+        pending.set(0);
+        if (started.getAndSet(false)) {
+            HandlerList.unregisterAll(this);
+        }
+        plugin = null;
+    }
+
+    public class IdleTask implements ScheduledTask, BukkitTask {
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(NEW);
+        private volatile boolean cancelled;
+        private volatile BukkitTask delayTask;
+        private long queuedTick;
+
+        private IdleTask(Runnable task) {
+            this.task = task;
+        }
+
+        private boolean claim() {
+            if (state.compareAndSet(QUEUED, DONE)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            BukkitTask delay = delayTask;
+            if (delay != null) {
+                delay.cancel();
+            }
+            if (!claim()) {
+                state.compareAndSet(NEW, DONE);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled || state.get() == DONE;
+        }
+
+        @Override
+        public BukkitTask getBukkitTask() {
+            return delayTask;
+        }
+
+        @Override
+        public int getTaskId() {
+            BukkitTask delay = delayTask;
+            return delay != null ? delay.getTaskId() : -1;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return plugin;
+        }
+
+        @Override
+        public boolean isSync() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.moocrest.scheduler.impl;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import com.moocrest.scheduler.CancellationToken;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryingScheduledTask extends ScheduledTaskImpl {
+    private final CancellationToken token;
+    private final AtomicInteger attempts = new AtomicInteger(0);
+    private volatile BukkitTask currentTask;
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+
+    public RetryingScheduledTask() {
+        this(null);
+    }
+
+    public RetryingScheduledTask(CancellationToken token) {
+        super(null, token);
+        this.token = token;
+    }
+
+    @Override
+    public int getAttempts() {
+        return attempts.get();
+    }
+
+    public int nextAttempt() {
+        return attempts.incrementAndGet();
+    }
+
+    public void finish() {
+        finished = true;
+    }
+
+    public void setCurrentTask(BukkitTask currentTask) {
+        this.currentTask = currentTask;
+        if (cancelled && currentTask != null) {
+            currentTask.cancel();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (!isCancelled()) {
+            recordCancelled();
+        }
+        cancelled = true;
+        BukkitTask task = currentTask;
+        if (task != null && !task.isCancelled()) {
+            task.cancel();
+        }
+        if (token != null) {
+            token.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled || finished;
+    }
+
+    @Override
+    public BukkitTask getBukkitTask() {
+        return currentTask;
+    }
+}
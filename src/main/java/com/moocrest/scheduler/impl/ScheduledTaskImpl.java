@@ -2,29 +2,56 @@ package com.moocrest.scheduler.impl;
 
 import org.bukkit.scheduler.BukkitTask;
 
+import com.moocrest.scheduler.CancellationToken;
 import com.moocrest.scheduler.ScheduledTask;
+import com.moocrest.scheduler.jfr.TaskEvents;
 
 public class ScheduledTaskImpl implements ScheduledTask {
     private final BukkitTask bukkitTask;
+    private final CancellationToken token;
+    private String name;
+    private String group;
+    private boolean async;
 
     public ScheduledTaskImpl(BukkitTask bukkitTask) {
+        this(bukkitTask, null);
+    }
+
+    public ScheduledTaskImpl(BukkitTask bukkitTask, CancellationToken token) {
         this.bukkitTask = bukkitTask;
+        this.token = token;
+    }
+
+    public void describe(String name, String group, boolean async) {
+        this.name = name;
+        this.group = group;
+        this.async = async;
+    }
+
+    protected void recordCancelled() {
+        TaskEvents.cancelled(name, group, async);
     }
 
     @Override
     public void cancel() {
+        if (!isCancelled()) {
+            recordCancelled();
+        }
         if (bukkitTask != null && !bukkitTask.isCancelled()) {
             bukkitTask.cancel();
         }
+        if (token != null) {
+            token.cancel();
+        }
     }
 
     @Override
     public boolean isCancelled() {
-        return bukkitTask == null || bukkitTask.isCancelled();
+        return bukkitTask == null || bukkitTask.isCancelled() || (token != null && token.isCancelled());
     }
 
     @Override
     public BukkitTask getBukkitTask() {
         return bukkitTask;
     }
-}
\ No newline at end of file
+}
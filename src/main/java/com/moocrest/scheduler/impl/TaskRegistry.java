@@ -0,0 +1,427 @@
+package com.moocrest.scheduler.impl;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.moocrest.scheduler.ScheduledTask;
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.ShutdownReport;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+public class TaskRegistry {
+    private static final Logger LOGGER = Logger.getLogger(TaskRegistry.class.getName());
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int CLAIMED = 2;
+    private static final int DONE = 3;
+
+    private final Set<Entry> entries = ConcurrentHashMap.newKeySet();
+    private final AtomicLong registrations = new AtomicLong(0);
+    private final Queue<Entry> late = new ConcurrentLinkedQueue<>();
+    private final Set<ScheduledTask> owned = ConcurrentHashMap.newKeySet();
+    private volatile boolean accepting = true;
+    private volatile boolean draining = false;
+
+    public Entry register(Runnable body, String name, String group, boolean async, long delay, boolean repeating,
+            boolean runOnShutdown) {
+        return register(body, name, group, async, delay, repeating, runOnShutdown, null);
+    }
+
+    public Entry register(Runnable body, String name, String group, boolean async, long delay, boolean repeating,
+            boolean runOnShutdown, Object serialKey) {
+        long sequence = registrations.incrementAndGet();
+        if (!accepting) {
+            return registerLate(new Entry(body, name, group, async, delay > 0, repeating, runOnShutdown,
+                    serialKey, sequence));
+        }
+
+        if (sequence % SWEEP_INTERVAL == 0) {
+            entries.removeIf(Entry::isAbandoned);
+        }
+
+        Entry entry = new Entry(body, name, group, async, delay > 0, repeating, runOnShutdown, serialKey, sequence);
+        entries.add(entry);
+        return entry;
+    }
+
+    public void own(ScheduledTask task) {
+        if (!accepting) {
+            task.cancel();
+            return;
+        }
+
+        owned.removeIf(ScheduledTask::isCancelled);
+        owned.add(task);
+        if (!accepting && owned.remove(task)) {
+            task.cancel();
+        }
+    }
+
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    public int getPendingCount() {
+        entries.removeIf(Entry::isAbandoned);
+        return entries.size();
+    }
+
+    public void reset() {
+        cancelOwned();
+        accepting = true;
+        draining = false;
+        entries.clear();
+        late.clear();
+    }
+
+    private void cancelOwned() {
+        for (ScheduledTask task : new ArrayList<>(owned)) {
+            owned.remove(task);
+            try {
+                task.cancel();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private Entry registerLate(Entry entry) {
+        entry.deferred = true;
+        entry.state.set(CLAIMED);
+        if (draining && !entry.repeating) {
+            late.add(entry);
+            if (draining || !late.remove(entry)) {
+                return entry;
+            }
+        }
+
+        entry.finish();
+        LOGGER.warning("Dropped " + entry.describe() + " scheduled after shutdown"
+                + (entry.repeating ? "; repeating tasks cannot start while shutting down" : ""));
+        return entry;
+    }
+
+    public ShutdownReport shutdown(Duration deadline) {
+        draining = true;
+        accepting = false;
+        cancelOwned();
+        long start = System.nanoTime();
+        long deadlineAt = start + deadline.toNanos();
+
+        List<Entry> inFlight = new ArrayList<>();
+        List<Entry> toFlush = new ArrayList<>();
+        List<String> dropped = new ArrayList<>();
+        Map<Object, Entry> serialTails = new HashMap<>();
+
+        for (Entry entry : new ArrayList<>(entries)) {
+            if (entry.isAbandoned()) {
+                entries.remove(entry);
+                continue;
+            }
+
+            boolean flush = entry.runOnShutdown || (entry.async && !entry.delayed && !entry.repeating);
+            if (flush && entry.state.compareAndSet(PENDING, CLAIMED)) {
+                entry.cancelBukkitTask();
+                toFlush.add(entry);
+            } else if (entry.state.get() == RUNNING) {
+                inFlight.add(entry);
+                if (entry.serialKey != null) {
+                    serialTails.put(entry.serialKey, entry);
+                }
+                if (entry.repeating) {
+                    entry.cancelBukkitTask();
+                }
+            } else if (entry.state.compareAndSet(PENDING, CLAIMED)) {
+                entry.cancelBukkitTask();
+                entry.finish();
+                dropped.add(entry.describe());
+            }
+        }
+
+        List<Entry> flushAsync = new ArrayList<>();
+        List<Entry> flushSync = new ArrayList<>();
+        toFlush.sort(Comparator.comparingLong(entry -> entry.sequence));
+        for (Entry entry : toFlush) {
+            (entry.async ? flushAsync : flushSync).add(entry);
+        }
+
+        ExecutorService executor = null;
+        if (!flushAsync.isEmpty()) {
+            executor = newDrainPool(Math.min(flushAsync.size(),
+                    Math.max(2, Runtime.getRuntime().availableProcessors())));
+            for (Entry entry : flushAsync) {
+                executor.execute(drainStep(entry, serialTails));
+            }
+        }
+
+        int flushed = 0;
+        for (Entry entry : flushSync) {
+            if (deadlineAt - System.nanoTime() <= 0) {
+                entry.finish();
+                dropped.add(entry.describe());
+                continue;
+            }
+            entry.runClaimed();
+            flushed++;
+        }
+
+        List<String> unfinished = new ArrayList<>();
+        int completed = 0;
+        for (Entry entry : inFlight) {
+            if (await(entry, deadlineAt)) {
+                completed++;
+            } else {
+                unfinished.add(entry.describe());
+            }
+        }
+        for (Entry entry : flushAsync) {
+            if (await(entry, deadlineAt)) {
+                flushed++;
+            } else {
+                unfinished.add(entry.describe());
+            }
+        }
+
+        List<Entry> lateAsync = new ArrayList<>();
+        while (true) {
+            Entry entry;
+            while ((entry = late.poll()) != null) {
+                if (deadlineAt - System.nanoTime() <= 0) {
+                    entry.finish();
+                    dropped.add(entry.describe());
+                } else if (entry.async) {
+                    if (executor == null) {
+                        executor = newDrainPool(2);
+                    }
+                    lateAsync.add(entry);
+                    executor.execute(drainStep(entry, serialTails));
+                } else {
+                    entry.runClaimed();
+                    flushed++;
+                }
+            }
+            if (lateAsync.isEmpty()) {
+                break;
+            }
+
+            Entry next = lateAsync.remove(0);
+            if (await(next, deadlineAt)) {
+                flushed++;
+            } else {
+                unfinished.add(next.describe());
+            }
+        }
+
+        draining = false;
+        Entry straggler;
+        while ((straggler = late.poll()) != null) {
+            straggler.finish();
+            dropped.add(straggler.describe());
+        }
+
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        entries.clear();
+
+        return new ShutdownReport(completed, flushed, dropped, unfinished,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static Runnable drainStep(Entry entry, Map<Object, Entry> serialTails) {
+        Entry previous = entry.serialKey != null ? serialTails.put(entry.serialKey, entry) : null;
+        if (previous == null) {
+            return entry::runClaimed;
+        }
+
+        return () -> {
+            try {
+                previous.done.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.finish();
+                return;
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+            entry.runClaimed();
+        };
+    }
+
+    private static ExecutorService newDrainPool(int threads) {
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-shutdown-drain");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private boolean await(Entry entry, long deadlineAt) {
+        try {
+            entry.done.get(Math.max(0, deadlineAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    public class Entry implements Runnable, BukkitTask {
+        private final Runnable body;
+        private final String name;
+        private final String group;
+        private final boolean async;
+        private final boolean delayed;
+        private final boolean repeating;
+        private final boolean runOnShutdown;
+        private final Object serialKey;
+        private final long sequence;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile BukkitTask bukkitTask;
+        private volatile boolean deferred;
+
+        private Entry(Runnable body, String name, String group, boolean async, boolean delayed, boolean repeating,
+                boolean runOnShutdown, Object serialKey, long sequence) {
+            this.body = body;
+            this.name = name;
+            this.group = group;
+            this.async = async;
+            this.delayed = delayed;
+            this.repeating = repeating;
+            this.runOnShutdown = runOnShutdown;
+            this.serialKey = serialKey;
+            this.sequence = sequence;
+        }
+
+        public boolean isDeferred() {
+            return deferred;
+        }
+
+        public void attach(BukkitTask bukkitTask) {
+            this.bukkitTask = bukkitTask;
+            if (state.get() == CLAIMED) {
+                bukkitTask.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                return;
+            }
+
+            try {
+                body.run();
+            } finally {
+                if (repeating && accepting) {
+                    state.compareAndSet(RUNNING, PENDING);
+                } else {
+                    finish();
+                }
+            }
+        }
+
+        private void runClaimed() {
+            if (state.get() == DONE) {
+                return;
+            }
+            try {
+                body.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                finish();
+            }
+        }
+
+        @Override
+        public int getTaskId() {
+            BukkitTask task = bukkitTask;
+            return task != null ? task.getTaskId() : -1;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return Scheduler.getPlugin();
+        }
+
+        @Override
+        public boolean isSync() {
+            return !async;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            BukkitTask task = bukkitTask;
+            return state.get() == DONE || (task != null && task.isCancelled());
+        }
+
+        @Override
+        public void cancel() {
+            cancelBukkitTask();
+            if (state.compareAndSet(CLAIMED, DONE) || state.compareAndSet(PENDING, DONE)) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            state.set(DONE);
+            entries.remove(this);
+            done.complete(null);
+        }
+
+        private void cancelBukkitTask() {
+            BukkitTask task = bukkitTask;
+            if (task != null && !task.isCancelled()) {
+                task.cancel();
+            }
+        }
+
+        private boolean isAbandoned() {
+            if (state.get() == DONE) {
+                return true;
+            }
+            BukkitTask task = bukkitTask;
+            return task != null && task.isCancelled() && state.get() == PENDING;
+        }
+
+        private String describe() {
+            StringBuilder description = new StringBuilder();
+            description.append(async ? "async" : "sync");
+            description.append(repeating ? " repeating task" : " task");
+            if (name != null) {
+                description.append(" '").append(name).append('\'');
+            }
+            if (group != null) {
+                description.append(" in group '").append(group).append('\'');
+            }
+            return description.toString();
+        }
+    }
+}
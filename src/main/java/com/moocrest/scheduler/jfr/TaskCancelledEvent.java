@@ -0,0 +1,22 @@
+package com.moocrest.scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.moocrest.scheduler.TaskCancelled")
+@Label("Task Cancelled")
+@Category({ "Crest Schedule", "Tasks" })
+@Description("A scheduled task was cancelled")
+class TaskCancelledEvent extends Event {
+    @Label("Task Name")
+    String taskName;
+
+    @Label("Group")
+    String group;
+
+    @Label("Async")
+    boolean async;
+}
@@ -0,0 +1,93 @@
+package com.moocrest.scheduler.jfr;
+
+import jdk.jfr.EventType;
+
+import java.util.concurrent.TimeUnit;
+
+public final class TaskEvents {
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final EventType EXECUTION = EventType.getEventType(TaskExecutionEvent.class);
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private TaskEvents() {
+    }
+
+    public static void scheduled(String name, String group, boolean async, long delayTicks, long periodTicks) {
+        TaskScheduledEvent event = new TaskScheduledEvent();
+        if (event.shouldCommit()) {
+            event.taskName = name;
+            event.group = group;
+            event.async = async;
+            event.delayTicks = delayTicks;
+            event.periodTicks = periodTicks;
+            event.commit();
+        }
+    }
+
+    public static void cancelled(String name, String group, boolean async) {
+        TaskCancelledEvent event = new TaskCancelledEvent();
+        if (event.shouldCommit()) {
+            event.taskName = name;
+            event.group = group;
+            event.async = async;
+            event.commit();
+        }
+    }
+
+    public static void timedOut(String name, String group, boolean async, long timeoutTicks) {
+        TaskTimedOutEvent event = new TaskTimedOutEvent();
+        if (event.shouldCommit()) {
+            event.taskName = name;
+            event.group = group;
+            event.async = async;
+            event.timeoutTicks = timeoutTicks;
+            event.commit();
+        }
+    }
+
+    public static Runnable instrument(Runnable task, String name, String group, boolean async, long delayTicks,
+            long periodTicks) {
+        if (periodTicks <= 0) {
+            if (!EXECUTION.isEnabled()) {
+                return task;
+            }
+            long expectedStart = System.nanoTime() + Math.max(0, delayTicks) * NANOS_PER_TICK;
+            return () -> record(task, name, group, async, System.nanoTime(), expectedStart);
+        }
+
+        long periodNanos = periodTicks * NANOS_PER_TICK;
+        long[] expectedStart = {
+                EXECUTION.isEnabled() ? System.nanoTime() + Math.max(0, delayTicks) * NANOS_PER_TICK : UNKNOWN };
+
+        return () -> {
+            if (!EXECUTION.isEnabled()) {
+                expectedStart[0] = UNKNOWN;
+                task.run();
+                return;
+            }
+
+            long startedAt = System.nanoTime();
+            long expected = expectedStart[0];
+            expectedStart[0] = startedAt + periodNanos;
+            record(task, name, group, async, startedAt, expected != UNKNOWN ? expected : startedAt);
+        };
+    }
+
+    private static void record(Runnable task, String name, String group, boolean async, long startedAt,
+            long expectedStart) {
+        TaskExecutionEvent event = new TaskExecutionEvent();
+        event.begin();
+        try {
+            task.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.taskName = name;
+                event.group = group;
+                event.async = async;
+                event.queueLatency = Math.max(0, startedAt - expectedStart);
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.moocrest.scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.moocrest.scheduler.TaskExecution")
+@Label("Task Execution")
+@Category({ "Crest Schedule", "Tasks" })
+@Description("A scheduled task body ran; the event duration is the execution time")
+@StackTrace(false)
+class TaskExecutionEvent extends Event {
+    @Label("Task Name")
+    String taskName;
+
+    @Label("Group")
+    String group;
+
+    @Label("Async")
+    boolean async;
+
+    @Label("Queue Latency")
+    @Description("Time between the requested start and the actual start")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueLatency;
+}
@@ -0,0 +1,28 @@
+package com.moocrest.scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.moocrest.scheduler.TaskScheduled")
+@Label("Task Scheduled")
+@Category({ "Crest Schedule", "Tasks" })
+@Description("A task was handed to the Bukkit scheduler")
+class TaskScheduledEvent extends Event {
+    @Label("Task Name")
+    String taskName;
+
+    @Label("Group")
+    String group;
+
+    @Label("Async")
+    boolean async;
+
+    @Label("Delay (ticks)")
+    long delayTicks;
+
+    @Label("Period (ticks)")
+    long periodTicks;
+}
@@ -0,0 +1,27 @@
+package com.moocrest.scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.moocrest.scheduler.TaskTimedOut")
+@Label("Task Timed Out")
+@Category({ "Crest Schedule", "Tasks" })
+@Description("A task did not complete within its timeout")
+@StackTrace(false)
+class TaskTimedOutEvent extends Event {
+    @Label("Task Name")
+    String taskName;
+
+    @Label("Group")
+    String group;
+
+    @Label("Async")
+    boolean async;
+
+    @Label("Timeout (ticks)")
+    long timeoutTicks;
+}
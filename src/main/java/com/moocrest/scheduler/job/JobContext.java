@@ -0,0 +1,26 @@
+package com.moocrest.scheduler.job;
+
+import java.util.function.Supplier;
+
+public interface JobContext {
+    void yieldIfOverBudget();
+
+    void pause();
+
+    boolean isOverBudget();
+
+    long getRemainingNanos();
+
+    int getSlice();
+
+    boolean isCancelled();
+
+    <R> R onMainThread(Supplier<R> action);
+
+    default void onMainThread(Runnable action) {
+        onMainThread(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
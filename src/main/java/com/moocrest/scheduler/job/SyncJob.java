@@ -0,0 +1,251 @@
+package com.moocrest.scheduler.job;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import com.moocrest.scheduler.ScheduledTask;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class SyncJob implements ScheduledTask {
+    private final String name;
+    private final Consumer<JobContext> body;
+    private final Consumer<Throwable> errorHandler;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private final Semaphore toWorker = new Semaphore(0);
+    private final Semaphore toMain = new Semaphore(0);
+    private final Context context = new Context();
+    private volatile long budgetNanos = TimeUnit.MILLISECONDS.toNanos(2);
+    private volatile ScheduledTask timer;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private volatile int slices;
+    private volatile long totalNanos;
+    private volatile boolean inSlice;
+    private Thread worker;
+    private long deadline;
+    private Supplier<?> mainAction;
+    private Object mainResult;
+    private RuntimeException mainError;
+    private Throwable failure;
+
+    public SyncJob(String name, Consumer<JobContext> body, Consumer<Throwable> errorHandler) {
+        this.name = name != null ? name : "job";
+        this.body = body;
+        this.errorHandler = errorHandler;
+    }
+
+    public SyncJob budget(long millis) {
+        if (millis < 1) {
+            throw new IllegalArgumentException("Budget must be at least 1 ms");
+        }
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        return this;
+    }
+
+    public void attach(ScheduledTask timer) {
+        this.timer = timer;
+        if (done) {
+            timer.cancel();
+        }
+    }
+
+    public synchronized boolean resume() {
+        if (done || inSlice) {
+            return !done;
+        }
+        if (worker == null) {
+            if (cancelled) {
+                done = true;
+                future.cancel(false);
+                return false;
+            }
+            worker = new Thread(this::work, "Scheduler-Job-" + name);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        long start = System.nanoTime();
+        inSlice = true;
+        slices++;
+        deadline = start + budgetNanos;
+        try {
+            toWorker.release();
+            while (true) {
+                toMain.acquireUninterruptibly();
+                Supplier<?> action = mainAction;
+                if (action == null) {
+                    break;
+                }
+
+                mainAction = null;
+                try {
+                    mainResult = action.get();
+                } catch (RuntimeException e) {
+                    mainError = e;
+                }
+                toWorker.release();
+            }
+        } finally {
+            inSlice = false;
+            totalNanos += System.nanoTime() - start;
+        }
+
+        if (!done) {
+            return true;
+        }
+        if (failure instanceof CancellationException) {
+            future.cancel(false);
+        } else if (failure != null) {
+            future.completeExceptionally(failure);
+            handleError(failure);
+        } else {
+            future.complete(null);
+        }
+        return false;
+    }
+
+    public CompletableFuture<Void> getFuture() {
+        return future;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public int getSliceCount() {
+        return slices;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        if (!inSlice) {
+            resume();
+        }
+
+        ScheduledTask current = timer;
+        if (current != null && done) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled || done;
+    }
+
+    @Override
+    public BukkitTask getBukkitTask() {
+        ScheduledTask current = timer;
+        return current != null ? current.getBukkitTask() : null;
+    }
+
+    private void work() {
+        toWorker.acquireUninterruptibly();
+        try {
+            if (cancelled) {
+                throw new CancellationException("Job was cancelled");
+            }
+            body.accept(context);
+        } catch (Throwable throwable) {
+            failure = throwable;
+        } finally {
+            done = true;
+            toMain.release();
+        }
+    }
+
+    private void handOff() {
+        toMain.release();
+        toWorker.acquireUninterruptibly();
+    }
+
+    private void handleError(Throwable throwable) {
+        if (errorHandler != null) {
+            try {
+                errorHandler.accept(throwable);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        } else {
+            throwable.printStackTrace();
+        }
+    }
+
+    private class Context implements JobContext {
+        @Override
+        public void yieldIfOverBudget() {
+            checkWorker();
+            if (System.nanoTime() >= deadline) {
+                pause();
+            } else if (cancelled) {
+                throw new CancellationException("Job was cancelled");
+            }
+        }
+
+        @Override
+        public void pause() {
+            checkWorker();
+            handOff();
+            if (cancelled) {
+                throw new CancellationException("Job was cancelled");
+            }
+        }
+
+        @Override
+        public boolean isOverBudget() {
+            return System.nanoTime() >= deadline;
+        }
+
+        @Override
+        public long getRemainingNanos() {
+            return Math.max(0, deadline - System.nanoTime());
+        }
+
+        @Override
+        public int getSlice() {
+            return slices;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> R onMainThread(Supplier<R> action) {
+            checkWorker();
+            mainAction = action;
+            handOff();
+
+            RuntimeException error = mainError;
+            Object result = mainResult;
+            mainError = null;
+            mainResult = null;
+            if (error != null) {
+                throw error;
+            }
+            return (R) result;
+        }
+
+        private void checkWorker() {
+            if (Thread.currentThread() != worker) {
+                throw new IllegalStateException("JobContext can only be used from within its job");
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.moocrest.scheduler.keyed;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.moocrest.scheduler.Scheduler;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KeyedExecutor {
+    private static final int CLOSED = -1;
+
+    private static final int OPEN = 0;
+    private static final int BOUND = 1;
+    private static final int PARKED = 2;
+    private static final int RESUMED = 3;
+
+    private final ConcurrentMap<Object, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Mailbox> current = new ThreadLocal<>();
+    private final Executor pool;
+
+    public KeyedExecutor(Executor pool) {
+        this.pool = pool;
+    }
+
+    public KeyedTask submit(Object key, Runnable task) {
+        KeyedTask keyedTask = new KeyedTask(key, task);
+        enqueue(key, keyedTask);
+        return keyedTask;
+    }
+
+    public void enqueue(Object key, KeyedTask task) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key must not be null");
+        }
+
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(key, Mailbox::new);
+            int pending = mailbox.pending.get();
+            if (pending == CLOSED) {
+                mailboxes.remove(key, mailbox);
+                continue;
+            }
+            if (!mailbox.pending.compareAndSet(pending, pending + 1)) {
+                continue;
+            }
+
+            mailbox.queue.add(task);
+            if (pending == 0) {
+                pool.execute(mailbox);
+            }
+            return;
+        }
+    }
+
+    public void hold(Object key) {
+        Mailbox mailbox = current.get();
+        if (mailbox != null && mailbox.key.equals(key) && mailbox.held == null) {
+            mailbox.held = new Slot(mailbox);
+        }
+    }
+
+    public Slot takeHeld(Object key) {
+        Mailbox mailbox = current.get();
+        if (mailbox == null || !mailbox.key.equals(key)) {
+            return null;
+        }
+        Slot slot = mailbox.held;
+        return slot != null && slot.state.get() == OPEN ? slot : null;
+    }
+
+    public int getMailboxCount() {
+        return mailboxes.size();
+    }
+
+    public int getPendingCount(Object key) {
+        Mailbox mailbox = mailboxes.get(key);
+        return mailbox != null ? Math.max(0, mailbox.pending.get()) : 0;
+    }
+
+    private final class Mailbox implements Runnable {
+        private final Object key;
+        private final Deque<KeyedTask> queue = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger pending = new AtomicInteger(0);
+        private Slot held;
+
+        private Mailbox(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                KeyedTask task = queue.poll();
+                if (task == null) {
+                    // An enqueuer has counted its task but not added it yet; don't hold the worker for it.
+                    pool.execute(this);
+                    return;
+                }
+
+                current.set(this);
+                try {
+                    task.execute();
+                } catch (Throwable throwable) {
+                    throwable.printStackTrace();
+                } finally {
+                    current.remove();
+                }
+
+                Slot slot = held;
+                held = null;
+                if (slot != null && !slot.state.compareAndSet(OPEN, RESUMED)) {
+                    if (slot.state.compareAndSet(BOUND, PARKED)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (pending.decrementAndGet() == 0) {
+                    break;
+                }
+            }
+
+            if (pending.compareAndSet(0, CLOSED)) {
+                mailboxes.remove(key, this);
+            }
+        }
+    }
+
+    public final class Slot {
+        private final Mailbox mailbox;
+        private final AtomicInteger state = new AtomicInteger(OPEN);
+        private final AtomicBoolean resumed = new AtomicBoolean(false);
+        private volatile KeyedTask task;
+
+        private Slot(Mailbox mailbox) {
+            this.mailbox = mailbox;
+        }
+
+        public boolean bind(KeyedTask task) {
+            this.task = task;
+            if (!state.compareAndSet(OPEN, BOUND)) {
+                this.task = null;
+                return false;
+            }
+            task.slot = this;
+            return true;
+        }
+
+        public void resume() {
+            KeyedTask next = task;
+            if (next == null || !resumed.compareAndSet(false, true)) {
+                return;
+            }
+
+            mailbox.queue.offerFirst(next);
+            if (!state.compareAndSet(BOUND, RESUMED) && state.compareAndSet(PARKED, RESUMED)) {
+                pool.execute(mailbox);
+            }
+        }
+    }
+
+    public static class KeyedTask implements BukkitTask {
+        private final Object key;
+        private final Runnable task;
+        private volatile boolean cancelled;
+        private volatile boolean finished;
+        private volatile BukkitTask delayTask;
+        private volatile Slot slot;
+
+        public KeyedTask(Runnable task) {
+            this(null, task);
+        }
+
+        public KeyedTask(Object key, Runnable task) {
+            this.key = key;
+            this.task = task;
+        }
+
+        public Object getKey() {
+            return key;
+        }
+
+        public void setDelayTask(BukkitTask delayTask) {
+            this.delayTask = delayTask;
+        }
+
+        void execute() {
+            try {
+                if (!cancelled) {
+                    task.run();
+                }
+            } finally {
+                finished = true;
+            }
+        }
+
+        @Override
+        public int getTaskId() {
+            return -1;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return Scheduler.getPlugin();
+        }
+
+        @Override
+        public boolean isSync() {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled || finished;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            BukkitTask delayed = delayTask;
+            if (delayed != null) {
+                delayed.cancel();
+            }
+            Slot held = slot;
+            if (held != null) {
+                held.resume();
+            }
+        }
+    }
+}
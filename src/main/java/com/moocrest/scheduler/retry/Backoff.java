@@ -0,0 +1,77 @@
+package com.moocrest.scheduler.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class Backoff {
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final double jitter;
+
+    private Backoff(long initialDelay, long maxDelay, double multiplier, double jitter) {
+        if (initialDelay < 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("Backoff delays must satisfy 0 <= initial <= max");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("Backoff multiplier must be >= 1");
+        }
+        if (jitter < 0.0 || jitter > 1.0) {
+            throw new IllegalArgumentException("Backoff jitter must be between 0 and 1");
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    public static Backoff none() {
+        return new Backoff(0, 0, 1.0, 0.0);
+    }
+
+    public static Backoff fixed(long ticks) {
+        return new Backoff(ticks, ticks, 1.0, 0.0);
+    }
+
+    public static Backoff exponential(long initialTicks, long maxTicks) {
+        return new Backoff(initialTicks, maxTicks, 2.0, 0.0);
+    }
+
+    public Backoff multiplier(double multiplier) {
+        return new Backoff(initialDelay, maxDelay, multiplier, jitter);
+    }
+
+    public Backoff withJitter(double jitter) {
+        return new Backoff(initialDelay, maxDelay, multiplier, jitter);
+    }
+
+    public long delayFor(int retry) {
+        if (retry < 1) {
+            throw new IllegalArgumentException("Retry number starts at 1");
+        }
+
+        double delay = Math.min(initialDelay * Math.pow(multiplier, retry - 1), maxDelay);
+
+        if (jitter > 0.0 && delay > 0.0) {
+            double spread = delay * jitter;
+            delay = delay - spread + ThreadLocalRandom.current().nextDouble() * spread * 2;
+        }
+
+        return Math.max(0, Math.min(Math.round(delay), maxDelay));
+    }
+
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+}
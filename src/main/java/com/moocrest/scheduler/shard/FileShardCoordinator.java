@@ -0,0 +1,131 @@
+package com.moocrest.scheduler.shard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+public class FileShardCoordinator extends RendezvousShardCoordinator {
+    private static final String SUFFIX = ".node";
+    private static final Pattern NODE_ID = Pattern.compile("[A-Za-z0-9_.-]+");
+
+    private final Path directory;
+    private final long ttlMillis;
+    private final ScheduledExecutorService timer;
+    private volatile Set<String> members = Set.of();
+    private volatile long lastBeat;
+    private boolean closed;
+
+    public FileShardCoordinator(Path directory, String nodeId, Duration ttl) {
+        super(nodeId);
+        if (!NODE_ID.matcher(nodeId).matches()) {
+            throw new IllegalArgumentException("Node id may only contain letters, digits, '.', '_' and '-'");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Heartbeat ttl must be positive");
+        }
+        this.directory = directory;
+        this.ttlMillis = ttl.toMillis();
+        heartbeat();
+
+        long period = Math.max(1, ttlMillis / 3);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-shard-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::beat, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean owns(String shardKey) {
+        // Once our own heartbeat has lapsed, other nodes already consider us gone.
+        if (System.currentTimeMillis() - lastBeat > ttlMillis) {
+            return false;
+        }
+        return super.owns(shardKey);
+    }
+
+    public synchronized void heartbeat() {
+        if (closed) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        try {
+            Files.createDirectories(directory);
+            Path temp = directory.resolve(getNodeId() + SUFFIX + ".tmp");
+            Files.write(temp, Long.toString(now).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, directory.resolve(getNodeId() + SUFFIX), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            members = readMembers(now);
+            lastBeat = now;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update shard membership in " + directory, e);
+        }
+    }
+
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        members = Set.of();
+        timer.shutdownNow();
+        try {
+            Files.deleteIfExists(directory.resolve(getNodeId() + SUFFIX));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    protected Collection<String> members() {
+        return members;
+    }
+
+    private void beat() {
+        try {
+            heartbeat();
+        } catch (UncheckedIOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Set<String> readMembers(long now) throws IOException {
+        Set<String> live = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String node = fileName.substring(0, fileName.length() - SUFFIX.length());
+                try {
+                    long beat = Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+                    if (now - beat <= ttlMillis) {
+                        live.add(node);
+                    }
+                } catch (NoSuchFileException | NumberFormatException e) {
+                    // Another node is rewriting or removing its heartbeat; it shows up on the next refresh.
+                }
+            }
+        }
+        live.add(getNodeId());
+        return Set.copyOf(live);
+    }
+}
@@ -0,0 +1,29 @@
+package com.moocrest.scheduler.shard;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class LocalShardCoordinator extends RendezvousShardCoordinator {
+    private volatile Set<String> members;
+
+    public LocalShardCoordinator(String nodeId) {
+        this(nodeId, Set.of(nodeId));
+    }
+
+    public LocalShardCoordinator(String nodeId, Collection<String> members) {
+        super(nodeId);
+        setMembers(members);
+    }
+
+    public void setMembers(Collection<String> members) {
+        Set<String> snapshot = new TreeSet<>(members);
+        snapshot.add(getNodeId());
+        this.members = Set.copyOf(snapshot);
+    }
+
+    @Override
+    protected Collection<String> members() {
+        return members;
+    }
+}
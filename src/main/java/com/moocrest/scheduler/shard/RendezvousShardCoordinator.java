@@ -0,0 +1,62 @@
+package com.moocrest.scheduler.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+public abstract class RendezvousShardCoordinator implements ShardCoordinator {
+    private final String nodeId;
+
+    protected RendezvousShardCoordinator(String nodeId) {
+        if (nodeId == null || nodeId.isEmpty()) {
+            throw new IllegalArgumentException("Node id must not be empty");
+        }
+        this.nodeId = nodeId;
+    }
+
+    protected abstract Collection<String> members();
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public boolean owns(String shardKey) {
+        return nodeId.equals(getOwner(shardKey));
+    }
+
+    public String getOwner(String shardKey) {
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String member : members()) {
+            long weight = weight(member, shardKey);
+            if (owner == null || weight > best || (weight == best && member.compareTo(owner) < 0)) {
+                owner = member;
+                best = weight;
+            }
+        }
+        return owner;
+    }
+
+    private static long weight(String member, String shardKey) {
+        long hash = 0xcbf29ce484222325L;
+        hash = fnv(hash, member.getBytes(StandardCharsets.UTF_8));
+        hash = (hash ^ 0xff) * 0x100000001b3L;
+        hash = fnv(hash, shardKey.getBytes(StandardCharsets.UTF_8));
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long fnv(long hash, byte[] bytes) {
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,10 @@
+package com.moocrest.scheduler.shard;
+
+public interface ShardCoordinator {
+    String getNodeId();
+
+    boolean owns(String shardKey);
+
+    default void close() {
+    }
+}
@@ -0,0 +1,236 @@
+package com.moocrest.scheduler.spread;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import com.moocrest.scheduler.ScheduledTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class SpreadTask<E> implements ScheduledTask, Runnable {
+    private final Supplier<? extends Collection<? extends E>> source;
+    private final int period;
+    private final Consumer<? super E> action;
+    private final Consumer<Throwable> errorHandler;
+    private final Map<E, Slot<E>> slots = new HashMap<>();
+    private final ArrayDeque<Slot<E>>[] buckets;
+    private final int[] loads;
+    private long pass;
+    private int cursor;
+    private int nextBucket;
+    private long cycleNanos;
+    private volatile ScheduledTask timer;
+    private volatile boolean cancelled;
+    private volatile int lastSliceSize;
+    private volatile long lastSliceNanos;
+    private volatile long averageSliceNanos;
+    private volatile int trackedCount;
+
+    public SpreadTask(long period, Consumer<? super E> action, Consumer<Throwable> errorHandler) {
+        this(null, period, action, errorHandler);
+    }
+
+    @SuppressWarnings("unchecked")
+    public SpreadTask(Supplier<? extends Collection<? extends E>> source, long period, Consumer<? super E> action,
+            Consumer<Throwable> errorHandler) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Spread period must be at least 1 tick");
+        }
+        if (period > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Spread period is too long");
+        }
+        this.source = source;
+        this.period = (int) period;
+        this.action = action;
+        this.errorHandler = errorHandler;
+        this.buckets = new ArrayDeque[this.period];
+        this.loads = new int[this.period];
+    }
+
+    public void attach(ScheduledTask timer) {
+        this.timer = timer;
+        if (cancelled) {
+            timer.cancel();
+        }
+    }
+
+    public synchronized boolean add(E item) {
+        if (slots.containsKey(item)) {
+            return false;
+        }
+        place(item);
+        return true;
+    }
+
+    public synchronized boolean remove(E item) {
+        Slot<E> slot = slots.remove(item);
+        if (slot == null) {
+            return false;
+        }
+        loads[slot.bucket]--;
+        return true;
+    }
+
+    @Override
+    public synchronized void run() {
+        long start = System.nanoTime();
+        if (cursor == 0) {
+            pass++;
+            if (source != null) {
+                reconcile();
+            }
+        }
+
+        int visited = 0;
+        ArrayDeque<Slot<E>> bucket = buckets[cursor];
+        if (bucket != null) {
+            for (int remaining = bucket.size(); remaining > 0; remaining--) {
+                Slot<E> slot = bucket.poll();
+                if (slots.get(slot.item) != slot) {
+                    continue;
+                }
+
+                bucket.add(slot);
+                visited++;
+                try {
+                    action.accept(slot.item);
+                } catch (Exception e) {
+                    handleError(e);
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastSliceSize = visited;
+        lastSliceNanos = elapsed;
+        trackedCount = slots.size();
+        cycleNanos += elapsed;
+        cursor++;
+        if (cursor == period) {
+            averageSliceNanos = cycleNanos / period;
+            cycleNanos = 0;
+            cursor = 0;
+        }
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+
+    public int getLastSliceSize() {
+        return lastSliceSize;
+    }
+
+    public long getLastSliceNanos() {
+        return lastSliceNanos;
+    }
+
+    public long getAverageSliceNanos() {
+        return averageSliceNanos;
+    }
+
+    public int getTrackedCount() {
+        return trackedCount;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        ScheduledTask current = timer;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        ScheduledTask current = timer;
+        return cancelled || (current != null && current.isCancelled());
+    }
+
+    @Override
+    public BukkitTask getBukkitTask() {
+        ScheduledTask current = timer;
+        return current != null ? current.getBukkitTask() : null;
+    }
+
+    private void reconcile() {
+        Collection<? extends E> live = source.get();
+        if (live == null) {
+            return;
+        }
+
+        List<E> added = new ArrayList<>();
+        for (E item : live) {
+            Slot<E> slot = slots.get(item);
+            if (slot != null) {
+                slot.pass = pass;
+            } else {
+                added.add(item);
+            }
+        }
+
+        slots.values().removeIf(slot -> {
+            if (slot.pass == pass) {
+                return false;
+            }
+            loads[slot.bucket]--;
+            return true;
+        });
+        for (E item : added) {
+            place(item);
+        }
+    }
+
+    private void place(E item) {
+        int index = nextBucket;
+        for (int i = 1; i < period && loads[index] > 0; i++) {
+            int candidate = (nextBucket + i) % period;
+            if (loads[candidate] < loads[index]) {
+                index = candidate;
+            }
+        }
+        nextBucket = (index + 1) % period;
+
+        Slot<E> slot = new Slot<>(item, pass, index);
+        slots.put(item, slot);
+        loads[index]++;
+        ArrayDeque<Slot<E>> bucket = buckets[index];
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            buckets[index] = bucket;
+        }
+        bucket.add(slot);
+        trackedCount = slots.size();
+    }
+
+    private void handleError(Throwable throwable) {
+        if (errorHandler != null) {
+            try {
+                errorHandler.accept(throwable);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        } else {
+            throwable.printStackTrace();
+        }
+    }
+
+    private static final class Slot<E> {
+        private final E item;
+        private final int bucket;
+        private long pass;
+
+        private Slot(E item, long pass, int bucket) {
+            this.item = item;
+            this.pass = pass;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.moocrest.scheduler.stagger;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class PhaseBalancer {
+    private static final int SWEEP_INTERVAL = 256;
+
+    private final int window;
+    private final int[] load;
+    private final List<Registration> registrations = new ArrayList<>();
+    private long registered;
+
+    public PhaseBalancer() {
+        this(1200);
+    }
+
+    public PhaseBalancer(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.window = window;
+        this.load = new int[window];
+    }
+
+    public synchronized long offsetFor(long startTick, long period) {
+        sweep();
+
+        if (period <= 1) {
+            return 0;
+        }
+
+        long candidates = Math.min(period, window);
+        long bestOffset = 0;
+        long bestPeak = Long.MAX_VALUE;
+        long bestTotal = Long.MAX_VALUE;
+
+        for (long offset = 0; offset < candidates; offset++) {
+            long peak = 0;
+            long total = 0;
+            for (long tick = startTick + offset; tick < startTick + offset + window; tick += period) {
+                int slotLoad = load[slot(tick)];
+                peak = Math.max(peak, slotLoad);
+                total += slotLoad;
+            }
+
+            if (peak < bestPeak || (peak == bestPeak && total < bestTotal)) {
+                bestPeak = peak;
+                bestTotal = total;
+                bestOffset = offset;
+                if (peak == 0) {
+                    break;
+                }
+            }
+        }
+
+        return bestOffset;
+    }
+
+    public synchronized void register(BukkitTask task, long firstTick, long period) {
+        if (period <= 0) {
+            return;
+        }
+
+        if (++registered % SWEEP_INTERVAL == 0) {
+            sweep();
+        }
+
+        Registration registration = new Registration(task, firstTick, period);
+        registrations.add(registration);
+        apply(registration, 1);
+    }
+
+    public synchronized int getLoad(long tick) {
+        sweep();
+        return load[slot(tick)];
+    }
+
+    public synchronized int getRegisteredCount() {
+        sweep();
+        return registrations.size();
+    }
+
+    public synchronized int getTrackedCount() {
+        return registrations.size();
+    }
+
+    private void sweep() {
+        Iterator<Registration> iterator = registrations.iterator();
+        while (iterator.hasNext()) {
+            Registration registration = iterator.next();
+            if (registration.task.isCancelled()) {
+                iterator.remove();
+                apply(registration, -1);
+            }
+        }
+    }
+
+    private void apply(Registration registration, int delta) {
+        for (long tick = registration.firstTick; tick < registration.firstTick + window; tick += registration.period) {
+            load[slot(tick)] += delta;
+        }
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) window);
+    }
+
+    private static final class Registration {
+        private final BukkitTask task;
+        private final long firstTick;
+        private final long period;
+
+        private Registration(BukkitTask task, long firstTick, long period) {
+            this.task = task;
+            this.firstTick = firstTick;
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.moocrest.scheduler.stream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.moocrest.scheduler.ScheduledTask;
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.impl.ScheduledTaskImpl;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class TickStream<T> {
+    private final Flow.Publisher<T> publisher;
+    private int maxItemsPerTick = 64;
+    private long maxNanosPerTick = TimeUnit.MILLISECONDS.toNanos(2);
+    private int bufferSize = 256;
+    private Consumer<Throwable> errorHandler;
+    private Runnable completeHandler;
+
+    public TickStream(Flow.Publisher<T> publisher) {
+        this.publisher = publisher;
+    }
+
+    public TickStream<T> maxItemsPerTick(int maxItemsPerTick) {
+        if (maxItemsPerTick < 1) {
+            throw new IllegalArgumentException("maxItemsPerTick must be at least 1");
+        }
+        this.maxItemsPerTick = maxItemsPerTick;
+        return this;
+    }
+
+    public TickStream<T> maxMillisPerTick(long maxMillisPerTick) {
+        if (maxMillisPerTick < 1) {
+            throw new IllegalArgumentException("maxMillisPerTick must be at least 1");
+        }
+        this.maxNanosPerTick = TimeUnit.MILLISECONDS.toNanos(maxMillisPerTick);
+        return this;
+    }
+
+    public TickStream<T> bufferSize(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    public TickStream<T> onError(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+    public TickStream<T> onComplete(Runnable completeHandler) {
+        this.completeHandler = completeHandler;
+        return this;
+    }
+
+    public ScheduledTask forEach(Consumer<T> consumer) {
+        TickSubscriber<T> subscriber = new TickSubscriber<>(consumer, maxItemsPerTick, maxNanosPerTick,
+                bufferSize, errorHandler, completeHandler,
+                task -> Bukkit.getScheduler().runTaskAsynchronously(Scheduler.getPlugin(), task));
+
+        BukkitTask drainTask = Bukkit.getScheduler().runTaskTimer(Scheduler.getPlugin(), subscriber::drain, 1, 1);
+        subscriber.setDrainTask(drainTask);
+        Bukkit.getScheduler().runTaskAsynchronously(Scheduler.getPlugin(), () -> publisher.subscribe(subscriber));
+
+        return new ScheduledTaskImpl(drainTask) {
+            @Override
+            public void cancel() {
+                super.cancel();
+                subscriber.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return subscriber.isDone();
+            }
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.moocrest.scheduler.stream;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class TickSubscriber<T> implements Flow.Subscriber<T> {
+    private final Consumer<T> consumer;
+    private final int maxItemsPerTick;
+    private final long maxNanosPerTick;
+    private final int bufferSize;
+    private final Consumer<Throwable> errorHandler;
+    private final Runnable completeHandler;
+    private final Executor requestExecutor;
+    private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingDemand = new AtomicLong();
+    private final AtomicInteger signals = new AtomicInteger();
+    private boolean cancelSignalled;
+    private volatile Flow.Subscription subscription;
+    private volatile Throwable failure;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile BukkitTask drainTask;
+
+    public TickSubscriber(Consumer<T> consumer, int maxItemsPerTick, long maxNanosPerTick, int bufferSize,
+            Consumer<Throwable> errorHandler, Runnable completeHandler, Executor requestExecutor) {
+        this.consumer = consumer;
+        this.maxItemsPerTick = maxItemsPerTick;
+        this.maxNanosPerTick = maxNanosPerTick;
+        this.bufferSize = bufferSize;
+        this.errorHandler = errorHandler;
+        this.completeHandler = completeHandler;
+        this.requestExecutor = requestExecutor;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null || cancelled) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        pendingDemand.addAndGet(bufferSize);
+        if (signals.getAndIncrement() == 0) {
+            signalLoop();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!cancelled) {
+            buffer.add(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure = throwable;
+        done = true;
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+    }
+
+    public int drain() {
+        if (cancelled) {
+            return 0;
+        }
+
+        long deadline = System.nanoTime() + maxNanosPerTick;
+        int delivered = 0;
+        T item;
+        while (delivered < maxItemsPerTick && (item = buffer.poll()) != null) {
+            delivered++;
+            try {
+                consumer.accept(item);
+            } catch (Exception e) {
+                handleError(e);
+            }
+
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        boolean finished = done;
+        if (finished && buffer.isEmpty()) {
+            finish();
+        } else if (delivered > 0 && !finished) {
+            requestMore(delivered);
+        }
+        return delivered;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        buffer.clear();
+
+        if (signals.getAndIncrement() == 0) {
+            signalLoop();
+        }
+        cancelDrainTask();
+    }
+
+    public boolean isDone() {
+        return cancelled;
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    void setDrainTask(BukkitTask drainTask) {
+        this.drainTask = drainTask;
+        if (cancelled) {
+            cancelDrainTask();
+        }
+    }
+
+    private void requestMore(long items) {
+        pendingDemand.addAndGet(items);
+        if (signals.getAndIncrement() == 0) {
+            requestExecutor.execute(this::signalLoop);
+        }
+    }
+
+    // Every request/cancel goes through here, one thread at a time (Reactive Streams 2.7).
+    private void signalLoop() {
+        int missed = 1;
+        do {
+            Flow.Subscription current = subscription;
+            if (current != null && !cancelSignalled) {
+                if (cancelled) {
+                    cancelSignalled = true;
+                    pendingDemand.set(0);
+                    current.cancel();
+                } else {
+                    long demand = pendingDemand.getAndSet(0);
+                    if (demand > 0) {
+                        current.request(demand);
+                    }
+                }
+            }
+            missed = signals.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void finish() {
+        cancelled = true;
+        cancelDrainTask();
+
+        Throwable throwable = failure;
+        if (throwable != null) {
+            handleError(throwable);
+        } else if (completeHandler != null) {
+            try {
+                completeHandler.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void handleError(Throwable throwable) {
+        if (errorHandler != null) {
+            try {
+                errorHandler.accept(throwable);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        } else {
+            throwable.printStackTrace();
+        }
+    }
+
+    private void cancelDrainTask() {
+        BukkitTask task = drainTask;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+}
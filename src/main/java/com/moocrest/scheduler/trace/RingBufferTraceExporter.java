@@ -0,0 +1,41 @@
+package com.moocrest.scheduler.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class RingBufferTraceExporter implements TraceExporter {
+    private final AtomicReferenceArray<Trace> traces;
+    private final AtomicLong written = new AtomicLong();
+
+    public RingBufferTraceExporter(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.traces = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void export(Trace trace) {
+        long slot = written.getAndIncrement();
+        traces.set((int) (slot % traces.length()), trace);
+    }
+
+    public List<Trace> getTraces() {
+        long end = written.get();
+        long start = Math.max(0, end - traces.length());
+        List<Trace> snapshot = new ArrayList<>((int) (end - start));
+        for (long slot = start; slot < end; slot++) {
+            Trace trace = traces.get((int) (slot % traces.length()));
+            if (trace != null) {
+                snapshot.add(trace);
+            }
+        }
+        return snapshot;
+    }
+
+    public long getExportedCount() {
+        return written.get();
+    }
+}
@@ -0,0 +1,86 @@
+package com.moocrest.scheduler.trace;
+
+public final class Span {
+    private final Trace trace;
+    private final int index;
+    private final String name;
+    private final boolean async;
+    private final long delayTicks;
+    private final long enqueuedAt;
+    private volatile String thread;
+    private volatile long startedAt = -1;
+    private volatile long endedAt = -1;
+    private volatile boolean failed;
+
+    Span(Trace trace, int index, String name, boolean async, long delayTicks, long enqueuedAt) {
+        this.trace = trace;
+        this.index = index;
+        this.name = name;
+        this.async = async;
+        this.delayTicks = delayTicks;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    void start() {
+        thread = Thread.currentThread().getName();
+        startedAt = trace.offset();
+    }
+
+    void fail() {
+        failed = true;
+    }
+
+    void end(boolean failed) {
+        if (failed) {
+            this.failed = true;
+        }
+        endedAt = trace.offset();
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public long getDelayTicks() {
+        return delayTicks;
+    }
+
+    public long getEnqueuedOffsetNanos() {
+        return enqueuedAt;
+    }
+
+    public long getQueueNanos() {
+        return startedAt >= 0 ? startedAt - enqueuedAt : -1;
+    }
+
+    public long getRunNanos() {
+        return startedAt >= 0 && endedAt >= 0 ? endedAt - startedAt : -1;
+    }
+
+    public boolean isFinished() {
+        return endedAt >= 0;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + index + " " + name + (async ? " async" : " sync")
+                + " queue=" + getQueueNanos() / 1_000 + "us"
+                + " run=" + getRunNanos() / 1_000 + "us";
+    }
+}
@@ -0,0 +1,126 @@
+package com.moocrest.scheduler.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class Trace {
+    private final long id;
+    private final String name;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final long startedAtNanos = System.nanoTime();
+    private final List<Span> spans = new ArrayList<>();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile long durationNanos = -1;
+    private volatile boolean complete;
+
+    Trace(long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"id\":").append(id)
+                .append(",\"name\":");
+        appendString(json, name);
+        json.append(",\"start\":").append(startedAtMillis)
+                .append(",\"durationNanos\":").append(durationNanos)
+                .append(",\"complete\":").append(complete)
+                .append(",\"spans\":[");
+
+        List<Span> snapshot = getSpans();
+        for (int i = 0; i < snapshot.size(); i++) {
+            Span span = snapshot.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"index\":").append(span.getIndex())
+                    .append(",\"name\":");
+            appendString(json, span.getName());
+            json.append(",\"async\":").append(span.isAsync())
+                    .append(",\"thread\":");
+            appendString(json, span.getThread());
+            json.append(",\"delayTicks\":").append(span.getDelayTicks())
+                    .append(",\"enqueuedNanos\":").append(span.getEnqueuedOffsetNanos())
+                    .append(",\"queueNanos\":").append(span.getQueueNanos())
+                    .append(",\"runNanos\":").append(span.getRunNanos())
+                    .append(",\"failed\":").append(span.isFailed())
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return "Trace{id=" + id + ", name=" + name + ", spans=" + getSpans() + "}";
+    }
+
+    long offset() {
+        return System.nanoTime() - startedAtNanos;
+    }
+
+    synchronized Span open(String spanName, boolean async, long delayTicks) {
+        outstanding.incrementAndGet();
+        Span span = new Span(this, spans.size(), spanName, async, delayTicks, offset());
+        spans.add(span);
+        return span;
+    }
+
+    boolean release() {
+        return outstanding.decrementAndGet() == 0;
+    }
+
+    synchronized boolean finish(boolean complete) {
+        if (durationNanos >= 0) {
+            return false;
+        }
+        this.complete = complete;
+        this.durationNanos = offset();
+        return true;
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,5 @@
+package com.moocrest.scheduler.trace;
+
+public interface TraceExporter {
+    void export(Trace trace);
+}
@@ -0,0 +1,181 @@
+package com.moocrest.scheduler.trace;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Tracer {
+    private static final long SWEEP_PERIOD_MILLIS = 1000;
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Span> CURRENT_SPAN = new ThreadLocal<>();
+
+    private final List<TraceExporter> exporters = new CopyOnWriteArrayList<>();
+    private final Map<Long, Trace> active = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private volatile long maxTraceAgeNanos = Duration.ofMinutes(1).toNanos();
+    private volatile ScheduledExecutorService sweeper;
+
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    public static void markFailed() {
+        Span span = CURRENT_SPAN.get();
+        if (span != null) {
+            span.fail();
+        }
+    }
+
+    public static void runWithin(Trace trace, Runnable task) {
+        Trace previous = CURRENT.get();
+        if (trace == null || trace == previous) {
+            task.run();
+            return;
+        }
+
+        CURRENT.set(trace);
+        try {
+            task.run();
+        } finally {
+            restore(CURRENT, previous);
+        }
+    }
+
+    public Tracer addExporter(TraceExporter exporter) {
+        exporters.add(exporter);
+        return this;
+    }
+
+    public Tracer removeExporter(TraceExporter exporter) {
+        exporters.remove(exporter);
+        return this;
+    }
+
+    public Tracer maxTraceAge(Duration maxAge) {
+        this.maxTraceAgeNanos = maxAge.toNanos();
+        return this;
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public Trace start(String name) {
+        if (sweeper == null) {
+            startSweeper();
+        }
+
+        long id = nextId.getAndIncrement();
+        Trace trace = new Trace(id, name);
+        active.put(id, trace);
+        return trace;
+    }
+
+    public Runnable hop(Trace trace, Runnable task, String name, boolean async, long delayTicks) {
+        Span span = trace.open(name != null ? name : (async ? "async" : "sync"), async, delayTicks);
+        return () -> {
+            Trace previous = CURRENT.get();
+            Span previousSpan = CURRENT_SPAN.get();
+            CURRENT.set(trace);
+            CURRENT_SPAN.set(span);
+            span.start();
+            boolean failed = true;
+            try {
+                task.run();
+                failed = false;
+            } finally {
+                span.end(failed);
+                restore(CURRENT, previous);
+                restore(CURRENT_SPAN, previousSpan);
+                if (trace.release()) {
+                    finish(trace, true);
+                }
+            }
+        };
+    }
+
+    public void sweep() {
+        for (Trace trace : active.values()) {
+            if (trace.offset() > maxTraceAgeNanos) {
+                finish(trace, false);
+            }
+        }
+    }
+
+    public synchronized void close() {
+        for (Trace trace : active.values()) {
+            finish(trace, false);
+        }
+        for (TraceExporter exporter : exporters) {
+            if (exporter instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) exporter).close();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        reset();
+    }
+
+    public synchronized void reset() {
+        active.clear();
+        exporters.clear();
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    private synchronized void startSweeper() {
+        if (sweeper != null) {
+            return;
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-trace-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::sweepQuietly, SWEEP_PERIOD_MILLIS, SWEEP_PERIOD_MILLIS,
+                TimeUnit.MILLISECONDS);
+        sweeper = executor;
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static <T> void restore(ThreadLocal<T> local, T previous) {
+        if (previous != null) {
+            local.set(previous);
+        } else {
+            local.remove();
+        }
+    }
+
+    private void finish(Trace trace, boolean complete) {
+        if (!trace.finish(complete)) {
+            return;
+        }
+
+        active.remove(trace.getId());
+        for (TraceExporter exporter : exporters) {
+            try {
+                exporter.export(trace);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
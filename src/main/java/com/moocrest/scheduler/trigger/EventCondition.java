@@ -0,0 +1,52 @@
+package com.moocrest.scheduler.trigger;
+
+import org.bukkit.event.Event;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public final class EventCondition<E extends Event> {
+    private final Class<E> eventClass;
+    private final Function<? super E, ?> keyExtractor;
+    private final Object key;
+    private final Predicate<? super E> predicate;
+
+    private EventCondition(Class<E> eventClass, Function<? super E, ?> keyExtractor, Object key,
+            Predicate<? super E> predicate) {
+        if (eventClass == null) {
+            throw new IllegalArgumentException("Event class must not be null");
+        }
+        this.eventClass = eventClass;
+        this.keyExtractor = keyExtractor;
+        this.key = key;
+        this.predicate = predicate;
+    }
+
+    public static <E extends Event> EventCondition<E> matching(Class<E> eventClass, Predicate<? super E> predicate) {
+        return new EventCondition<>(eventClass, null, null, predicate);
+    }
+
+    public static <E extends Event> EventCondition<E> keyed(Class<E> eventClass, Function<? super E, ?> keyExtractor,
+            Object key) {
+        if (keyExtractor == null || key == null) {
+            throw new IllegalArgumentException("Key extractor and key must not be null");
+        }
+        return new EventCondition<>(eventClass, keyExtractor, key, null);
+    }
+
+    public Class<E> getEventClass() {
+        return eventClass;
+    }
+
+    public Function<? super E, ?> getKeyExtractor() {
+        return keyExtractor;
+    }
+
+    public Object getKey() {
+        return key;
+    }
+
+    boolean test(E event) {
+        return predicate == null || predicate.test(event);
+    }
+}
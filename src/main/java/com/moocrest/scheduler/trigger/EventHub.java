@@ -0,0 +1,174 @@
+package com.moocrest.scheduler.trigger;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+
+import com.moocrest.scheduler.ScheduledTask;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class EventHub<E extends Event> implements Listener, EventExecutor {
+    private final Class<E> eventClass;
+    private final Set<Subscription> unkeyed = ConcurrentHashMap.newKeySet();
+    private final Map<Function<? super E, ?>, Map<Object, Set<Subscription>>> indexes = new ConcurrentHashMap<>();
+
+    public EventHub(Class<E> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    public Class<E> getEventClass() {
+        return eventClass;
+    }
+
+    @Override
+    public void execute(Listener listener, Event event) {
+        if (eventClass.isInstance(event)) {
+            dispatch(eventClass.cast(event));
+        }
+    }
+
+    public void dispatch(E event) {
+        for (Map.Entry<Function<? super E, ?>, Map<Object, Set<Subscription>>> index : indexes.entrySet()) {
+            Object key;
+            try {
+                key = index.getKey().apply(event);
+            } catch (Exception e) {
+                e.printStackTrace();
+                continue;
+            }
+
+            Set<Subscription> subscriptions = key != null ? index.getValue().get(key) : null;
+            if (subscriptions != null) {
+                fire(subscriptions, event);
+            }
+        }
+
+        if (!unkeyed.isEmpty()) {
+            fire(unkeyed, event);
+        }
+    }
+
+    public int getIndexCount() {
+        return indexes.size();
+    }
+
+    public int getSubscriptionCount() {
+        int count = unkeyed.size();
+        for (Map<Object, Set<Subscription>> index : indexes.values()) {
+            for (Set<Subscription> subscriptions : index.values()) {
+                count += subscriptions.size();
+            }
+        }
+        return count;
+    }
+
+    Subscription subscribe(EventCondition<E> condition, boolean once, ScheduledTask owner, Consumer<? super E> action) {
+        Subscription subscription = new Subscription(condition, once, owner, action);
+        if (condition.getKeyExtractor() == null) {
+            unkeyed.add(subscription);
+        } else {
+            indexes.compute(condition.getKeyExtractor(), (extractor, index) -> {
+                Map<Object, Set<Subscription>> keys = index != null ? index : new ConcurrentHashMap<>();
+                keys.compute(condition.getKey(), (key, subscriptions) -> {
+                    Set<Subscription> set = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+                    set.add(subscription);
+                    return set;
+                });
+                return keys;
+            });
+        }
+        return subscription;
+    }
+
+    void sweep() {
+        unkeyed.removeIf(Subscription::isAbandoned);
+        for (Function<? super E, ?> extractor : indexes.keySet()) {
+            indexes.computeIfPresent(extractor, (ex, index) -> {
+                for (Object key : index.keySet()) {
+                    index.computeIfPresent(key, (k, subscriptions) -> {
+                        subscriptions.removeIf(Subscription::isAbandoned);
+                        return subscriptions.isEmpty() ? null : subscriptions;
+                    });
+                }
+                return index.isEmpty() ? null : index;
+            });
+        }
+    }
+
+    private void fire(Set<Subscription> subscriptions, E event) {
+        for (Subscription subscription : subscriptions) {
+            try {
+                subscription.fire(event);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public final class Subscription {
+        private final EventCondition<E> condition;
+        private final boolean once;
+        private final ScheduledTask owner;
+        private final Consumer<? super E> action;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+
+        private Subscription(EventCondition<E> condition, boolean once, ScheduledTask owner,
+                Consumer<? super E> action) {
+            this.condition = condition;
+            this.once = once;
+            this.owner = owner;
+            this.action = action;
+        }
+
+        public boolean isActive() {
+            return active.get();
+        }
+
+        public void cancel() {
+            if (active.compareAndSet(true, false)) {
+                remove();
+            }
+        }
+
+        private void fire(E event) {
+            if (!active.get() || !condition.test(event)) {
+                return;
+            }
+            if (once) {
+                if (!active.compareAndSet(true, false)) {
+                    return;
+                }
+                remove();
+            }
+            action.accept(event);
+        }
+
+        private boolean isAbandoned() {
+            if (active.get() && owner != null && owner.isCancelled()) {
+                active.set(false);
+            }
+            return !active.get();
+        }
+
+        private void remove() {
+            if (condition.getKeyExtractor() == null) {
+                unkeyed.remove(this);
+                return;
+            }
+
+            indexes.computeIfPresent(condition.getKeyExtractor(), (extractor, index) -> {
+                index.computeIfPresent(condition.getKey(), (key, subscriptions) -> {
+                    subscriptions.remove(this);
+                    return subscriptions.isEmpty() ? null : subscriptions;
+                });
+                return index.isEmpty() ? null : index;
+            });
+        }
+    }
+}
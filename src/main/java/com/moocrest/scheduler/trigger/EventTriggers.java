@@ -0,0 +1,64 @@
+package com.moocrest.scheduler.trigger;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import com.moocrest.scheduler.ScheduledTask;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class EventTriggers {
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final Map<Class<? extends Event>, EventHub<?>> hubs = new ConcurrentHashMap<>();
+    private final Consumer<EventHub<?>> registrar;
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    public EventTriggers(Consumer<EventHub<?>> registrar) {
+        this.registrar = registrar;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends Event> EventHub<E>.Subscription subscribe(EventCondition<E> condition, boolean once,
+            ScheduledTask owner, Consumer<? super E> action) {
+        if (subscriptions.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            sweep();
+        }
+
+        EventHub<E> hub = (EventHub<E>) hubs.computeIfAbsent(condition.getEventClass(), eventClass -> {
+            EventHub<E> created = new EventHub<>(condition.getEventClass());
+            registrar.accept(created);
+            return created;
+        });
+        return hub.subscribe(condition, once, owner, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends Event> EventHub<E> getHub(Class<E> eventClass) {
+        return (EventHub<E>) hubs.get(eventClass);
+    }
+
+    public int getHubCount() {
+        return hubs.size();
+    }
+
+    public int getSubscriptionCount() {
+        int count = 0;
+        for (EventHub<?> hub : hubs.values()) {
+            count += hub.getSubscriptionCount();
+        }
+        return count;
+    }
+
+    public void sweep() {
+        hubs.values().forEach(EventHub::sweep);
+    }
+
+    public void reset() {
+        hubs.values().forEach(HandlerList::unregisterAll);
+        hubs.clear();
+    }
+}
@@ -0,0 +1,84 @@
+package com.moocrest.scheduler.trigger;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import com.moocrest.scheduler.ScheduledTask;
+
+import java.util.function.Supplier;
+
+public class TriggeredTask implements ScheduledTask {
+    private final Supplier<ScheduledTask> starter;
+    private volatile ScheduledTask task;
+    private volatile boolean cancelled;
+    private EventHub<?>.Subscription startSubscription;
+    private EventHub<?>.Subscription stopSubscription;
+
+    public TriggeredTask(EventTriggers triggers, EventCondition<?> start, EventCondition<?> stop,
+            Supplier<ScheduledTask> starter) {
+        this.starter = starter;
+
+        synchronized (this) {
+            if (stop != null) {
+                stopSubscription = triggers.subscribe(stop, true, this, event -> cancel());
+            }
+            if (start != null) {
+                startSubscription = triggers.subscribe(start, true, this, event -> begin());
+            }
+        }
+
+        if (start == null) {
+            begin();
+        }
+    }
+
+    public boolean isStarted() {
+        return task != null;
+    }
+
+    private synchronized void begin() {
+        if (cancelled || task != null) {
+            return;
+        }
+        task = starter.get();
+    }
+
+    @Override
+    public void cancel() {
+        ScheduledTask current;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            current = task;
+        }
+
+        if (startSubscription != null) {
+            startSubscription.cancel();
+        }
+        if (stopSubscription != null) {
+            stopSubscription.cancel();
+        }
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        ScheduledTask current = task;
+        return cancelled || (current != null && current.isCancelled());
+    }
+
+    @Override
+    public BukkitTask getBukkitTask() {
+        ScheduledTask current = task;
+        return current != null ? current.getBukkitTask() : null;
+    }
+
+    @Override
+    public int getAttempts() {
+        ScheduledTask current = task;
+        return current != null ? current.getAttempts() : 0;
+    }
+}
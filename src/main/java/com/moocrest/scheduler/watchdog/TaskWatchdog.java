@@ -0,0 +1,276 @@
+package com.moocrest.scheduler.watchdog;
+
+import org.bukkit.plugin.Plugin;
+
+import com.moocrest.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class TaskWatchdog {
+    private static final String SCHEDULER_PACKAGE = "com.moocrest.scheduler.";
+    private static final int MAX_FRAMES = 25;
+
+    private static volatile TaskWatchdog current;
+
+    private final Set<Execution> executions = ConcurrentHashMap.newKeySet();
+    private final Queue<Execution> finishedOverruns = new ConcurrentLinkedQueue<>();
+    private final Map<String, Long> lastReportBySite = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> suppressedBySite = new ConcurrentHashMap<>();
+
+    private long syncThresholdNanos = TimeUnit.MILLISECONDS.toNanos(50);
+    private long asyncThresholdNanos = TimeUnit.SECONDS.toNanos(5);
+    private long sampleIntervalNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private long reportIntervalNanos = TimeUnit.SECONDS.toNanos(60);
+    private int samples = 3;
+    private Logger logger;
+    private volatile boolean running;
+    private Thread thread;
+
+    public static TaskWatchdog current() {
+        return current;
+    }
+
+    public static StackTraceElement captureSite() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (!element.getClassName().startsWith(SCHEDULER_PACKAGE)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    public TaskWatchdog syncThreshold(long duration, TimeUnit unit) {
+        this.syncThresholdNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    public TaskWatchdog asyncThreshold(long duration, TimeUnit unit) {
+        this.asyncThresholdNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    public TaskWatchdog samples(int samples, long interval, TimeUnit unit) {
+        if (samples < 1 || interval <= 0) {
+            throw new IllegalArgumentException("Watchdog requires at least one sample and a positive interval");
+        }
+        this.samples = samples;
+        this.sampleIntervalNanos = unit.toNanos(interval);
+        return this;
+    }
+
+    public TaskWatchdog reportInterval(long duration, TimeUnit unit) {
+        this.reportIntervalNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    public synchronized TaskWatchdog start() {
+        if (running) {
+            return this;
+        }
+
+        TaskWatchdog previous = current;
+        if (previous != null) {
+            previous.stop();
+        }
+
+        Plugin plugin = Scheduler.getPlugin();
+        this.logger = plugin.getLogger();
+        this.running = true;
+        this.thread = new Thread(this::loop, plugin.getName() + "-scheduler-watchdog");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        current = this;
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        if (current == this) {
+            current = null;
+        }
+        thread.interrupt();
+        executions.clear();
+        finishedOverruns.clear();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getExecutingCount() {
+        return executions.size();
+    }
+
+    public Runnable monitor(Runnable task, String name, StackTraceElement site, boolean async) {
+        return () -> {
+            Execution execution = begin(name, site, async);
+            try {
+                task.run();
+            } finally {
+                end(execution);
+            }
+        };
+    }
+
+    private Execution begin(String name, StackTraceElement site, boolean async) {
+        if (!running) {
+            return null;
+        }
+
+        Execution execution = new Execution(Thread.currentThread(), name, site, async, System.nanoTime());
+        executions.add(execution);
+        return execution;
+    }
+
+    private void end(Execution execution) {
+        if (execution == null) {
+            return;
+        }
+
+        execution.finishedAt = System.nanoTime();
+        executions.remove(execution);
+        if (execution.sampleCount() > 0 && !execution.reported) {
+            finishedOverruns.add(execution);
+        }
+    }
+
+    private void loop() {
+        long pollNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1),
+                Math.min(sampleIntervalNanos, Math.min(syncThresholdNanos, asyncThresholdNanos) / 2));
+
+        while (running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(pollNanos);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            for (Execution execution : executions) {
+                long threshold = execution.async ? asyncThresholdNanos : syncThresholdNanos;
+                if (execution.reported || now - execution.startedAt < threshold) {
+                    continue;
+                }
+
+                if (execution.sampleCount() == 0 || now - execution.lastSampleAt >= sampleIntervalNanos) {
+                    execution.addSample(now, execution.thread.getStackTrace());
+                }
+
+                if (execution.sampleCount() >= samples) {
+                    report(execution, now);
+                }
+            }
+
+            Execution finished;
+            while ((finished = finishedOverruns.poll()) != null) {
+                report(finished, finished.finishedAt);
+            }
+        }
+    }
+
+    private void report(Execution execution, long now) {
+        if (execution.reported) {
+            return;
+        }
+        execution.reported = true;
+
+        String siteKey = execution.siteDescription();
+        Long lastReport = lastReportBySite.get(siteKey);
+        if (lastReport != null && now - lastReport < reportIntervalNanos) {
+            suppressedBySite.computeIfAbsent(siteKey, key -> new AtomicInteger()).incrementAndGet();
+            return;
+        }
+        lastReportBySite.put(siteKey, now);
+
+        AtomicInteger suppressed = suppressedBySite.remove(siteKey);
+        StringBuilder message = new StringBuilder();
+        message.append(execution.async ? "Async" : "Sync").append(" task");
+        if (execution.name != null) {
+            message.append(" '").append(execution.name).append('\'');
+        }
+        message.append(" registered at ").append(siteKey);
+        message.append(execution.finishedAt > 0 ? " ran for " : " has been running for ");
+        message.append(TimeUnit.NANOSECONDS.toMillis(now - execution.startedAt)).append(" ms");
+        message.append(" on thread '").append(execution.thread.getName()).append('\'');
+        if (suppressed != null) {
+            message.append(" (").append(suppressed.get()).append(" similar reports suppressed)");
+        }
+
+        List<Sample> taken = execution.samples();
+        for (int i = 0; i < taken.size(); i++) {
+            Sample sample = taken.get(i);
+            message.append("\n  Sample ").append(i + 1).append(" (+")
+                    .append(TimeUnit.NANOSECONDS.toMillis(sample.takenAt - execution.startedAt)).append(" ms):");
+            StackTraceElement[] stack = sample.stack;
+            for (int frame = 0; frame < Math.min(stack.length, MAX_FRAMES); frame++) {
+                message.append("\n    at ").append(stack[frame]);
+            }
+            if (stack.length > MAX_FRAMES) {
+                message.append("\n    ... ").append(stack.length - MAX_FRAMES).append(" more");
+            }
+        }
+
+        logger.log(Level.WARNING, message.toString());
+    }
+
+    private static final class Execution {
+        private final Thread thread;
+        private final String name;
+        private final StackTraceElement site;
+        private final boolean async;
+        private final long startedAt;
+        private final List<Sample> samples = new ArrayList<>();
+        private volatile long finishedAt;
+        private volatile long lastSampleAt;
+        private volatile boolean reported;
+
+        private Execution(Thread thread, String name, StackTraceElement site, boolean async, long startedAt) {
+            this.thread = thread;
+            this.name = name;
+            this.site = site;
+            this.async = async;
+            this.startedAt = startedAt;
+        }
+
+        private synchronized void addSample(long now, StackTraceElement[] stack) {
+            samples.add(new Sample(now, stack));
+            lastSampleAt = now;
+        }
+
+        private synchronized int sampleCount() {
+            return samples.size();
+        }
+
+        private synchronized List<Sample> samples() {
+            return new ArrayList<>(samples);
+        }
+
+        private String siteDescription() {
+            return site != null ? site.toString() : "unknown location";
+        }
+    }
+
+    private static final class Sample {
+        private final long takenAt;
+        private final StackTraceElement[] stack;
+
+        private Sample(long takenAt, StackTraceElement[] stack) {
+            this.takenAt = takenAt;
+            this.stack = stack;
+        }
+    }
+}
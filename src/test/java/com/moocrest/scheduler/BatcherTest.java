@@ -0,0 +1,177 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.batch.Batcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatcherTest {
+    private Plugin plugin;
+    private List<List<Integer>> batches;
+    private List<Runnable> pendingFlushes;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+
+        batches = new CopyOnWriteArrayList<>();
+        pendingFlushes = new ArrayList<>();
+    }
+
+    @Test
+    void testFlushesOnSize() {
+        Batcher<Integer> batcher = new Batcher<>(3, 20, batches::add, Runnable::run);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(batcher.offer(i));
+        }
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5)), batches);
+        assertEquals(1, batcher.getPendingCount());
+        assertEquals(2, batcher.getBatchCount());
+        assertEquals(6, batcher.getFlushedCount());
+    }
+
+    @Test
+    void testTickFlushesPartialBatch() {
+        Batcher<Integer> batcher = new Batcher<>(100, 20, batches::add, pendingFlushes::add);
+        batcher.offer(1);
+        batcher.offer(2);
+        assertTrue(batches.isEmpty());
+
+        batcher.tick();
+        assertEquals(List.of(List.of(1, 2)), batches);
+        assertEquals(0, batcher.getPendingCount());
+
+        batcher.tick();
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void testRejectsWhenFull() {
+        Batcher<Integer> batcher = new Batcher<Integer>(2, 20, batches::add, pendingFlushes::add).capacity(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(batcher.offer(i));
+        }
+        assertFalse(batcher.offer(4));
+        assertEquals(1, batcher.getRejectedCount());
+        assertEquals(1, pendingFlushes.size());
+
+        pendingFlushes.remove(0).run();
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3)), batches);
+        assertTrue(batcher.offer(5));
+    }
+
+    @Test
+    void testCloseFlushesEverything() {
+        Batcher<Integer> batcher = new Batcher<>(2, 20, batches::add, pendingFlushes::add);
+        for (int i = 0; i < 5; i++) {
+            batcher.offer(i);
+        }
+
+        batcher.close();
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3), List.of(4)), batches);
+        assertTrue(batcher.isClosed());
+        assertThrows(IllegalStateException.class, () -> batcher.offer(6));
+    }
+
+    @Test
+    void testConsumerErrorsAreReported() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Batcher<Integer> batcher = new Batcher<Integer>(1, 20, batch -> {
+            throw new IllegalStateException("write failed");
+        }, Runnable::run).onError(error::set);
+
+        batcher.offer(1);
+        assertEquals("write failed", error.get().getMessage());
+        assertTrue(batcher.offer(2));
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws Exception {
+        ExecutorService flusher = Executors.newSingleThreadExecutor();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        Batcher<Integer> batcher = new Batcher<Integer>(64, 20, received::addAll, flusher).capacity(100_000);
+
+        CountDownLatch done = new CountDownLatch(4);
+        for (int p = 0; p < 4; p++) {
+            int base = p * 10_000;
+            producers.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    assertTrue(batcher.offer(base + i));
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        batcher.close();
+        flusher.shutdown();
+        assertTrue(flusher.awaitTermination(10, TimeUnit.SECONDS));
+        producers.shutdown();
+
+        assertEquals(40_000, received.size());
+        assertEquals(40_000, received.stream().distinct().count());
+    }
+
+    @Test
+    void testItemsAcceptedWhileClosingAreFlushed() throws Exception {
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int round = 0; round < 100; round++) {
+            AtomicInteger received = new AtomicInteger();
+            AtomicInteger accepted = new AtomicInteger();
+            Batcher<Integer> batcher = new Batcher<Integer>(1000, 20, batch -> received.addAndGet(batch.size()),
+                    command -> {
+                    }).capacity(100_000);
+
+            CountDownLatch done = new CountDownLatch(4);
+            for (int p = 0; p < 4; p++) {
+                producers.execute(() -> {
+                    try {
+                        while (true) {
+                            if (batcher.offer(1)) {
+                                accepted.incrementAndGet();
+                            }
+                        }
+                    } catch (IllegalStateException e) {
+                        done.countDown();
+                    }
+                });
+            }
+
+            Thread.sleep(1);
+            batcher.close();
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(accepted.get(), received.get());
+            assertEquals(0, batcher.getPendingCount());
+        }
+        producers.shutdown();
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new Batcher<Integer>(0, 20, batches::add, Runnable::run));
+        assertThrows(IllegalArgumentException.class, () -> new Batcher<Integer>(10, 0, batches::add, Runnable::run));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Batcher<Integer>(10, 20, batches::add, Runnable::run).capacity(5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Batcher<Integer>(10, 20, batches::add, Runnable::run).offer(null));
+    }
+}
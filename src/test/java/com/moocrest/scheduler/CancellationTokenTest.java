@@ -0,0 +1,118 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.CancellationToken;
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.impl.ScheduledTaskImpl;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testTokenCancellation() {
+        CancellationToken token = new CancellationToken();
+
+        assertFalse(token.isCancelled());
+        assertDoesNotThrow(token::throwIfCancelled);
+
+        token.cancel();
+
+        assertTrue(token.isCancelled());
+        assertThrows(CancellationException.class, token::throwIfCancelled);
+    }
+
+    @Test
+    void testListenersRunOnce() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger calls = new AtomicInteger(0);
+
+        token.onCancel(calls::incrementAndGet);
+        token.cancel();
+        token.cancel();
+        assertEquals(1, calls.get());
+
+        token.onCancel(calls::incrementAndGet);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testScheduledTaskCancelPropagatesToToken() {
+        CancellationToken token = new CancellationToken();
+        ScheduledTaskImpl task = new ScheduledTaskImpl(null, token);
+
+        task.cancel();
+
+        assertTrue(token.isCancelled());
+        assertTrue(task.isCancelled());
+    }
+
+    @Test
+    void testInterruptOnCancel() throws InterruptedException {
+        CancellationToken token = new CancellationToken(true);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        AtomicBoolean clearedAfterUnbind = new AtomicBoolean(false);
+
+        Thread worker = new Thread(() -> {
+            token.bind(Thread.currentThread());
+            try {
+                started.countDown();
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                Thread.currentThread().interrupt();
+            } finally {
+                token.unbind();
+            }
+            clearedAfterUnbind.set(!Thread.currentThread().isInterrupted());
+        });
+        worker.start();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        token.cancel();
+        worker.join(5_000);
+
+        assertTrue(interrupted.get());
+        assertTrue(clearedAfterUnbind.get());
+    }
+
+    @Test
+    void testUnbindKeepsForeignInterrupts() {
+        CancellationToken token = new CancellationToken(true);
+        token.bind(Thread.currentThread());
+        token.cancel();
+        token.unbind();
+        assertFalse(Thread.currentThread().isInterrupted());
+
+        CancellationToken cancelledBeforeBinding = new CancellationToken(true);
+        cancelledBeforeBinding.cancel();
+        cancelledBeforeBinding.bind(Thread.currentThread());
+        Thread.currentThread().interrupt();
+        cancelledBeforeBinding.unbind();
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    void testCancelledTokenBuilder() {
+        assertNotNull(Scheduler.async().interruptOnCancel());
+    }
+}
@@ -0,0 +1,221 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.breaker.CircuitBreaker;
+import com.moocrest.scheduler.breaker.CircuitOpenException;
+import com.moocrest.scheduler.group.TaskGroup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private static final long MILLI = 1_000_000L;
+
+    private Plugin plugin;
+    private AtomicLong clock;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+
+        clock = new AtomicLong();
+        breaker = new CircuitBreaker("inventory-db", clock::get)
+                .windowSize(10)
+                .minimumCalls(4)
+                .failureRateThreshold(0.5)
+                .slowCallThreshold(Duration.ofMillis(100), 0.5)
+                .openDuration(Duration.ofSeconds(10))
+                .halfOpenCalls(2);
+    }
+
+    @Test
+    void testOpensOnFailureRate() {
+        call(true);
+        call(false);
+        call(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+        assertFalse(breaker.isCallPermitted());
+    }
+
+    @Test
+    void testStaysClosedBelowThreshold() {
+        for (int i = 0; i < 20; i++) {
+            call((i + 1) % 3 != 0);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(10, breaker.getBufferedCalls());
+    }
+
+    @Test
+    void testOpensOnSlowCalls() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(acquire(), 150 * MILLI);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulProbes() {
+        open();
+        List<String> transitions = new ArrayList<>();
+        breaker.onStateChange((from, to) -> transitions.add(from + "->" + to));
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        long first = acquire();
+        long second = acquire();
+        assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+
+        breaker.onSuccess(first, MILLI);
+        breaker.onSuccess(second, MILLI);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void testHalfOpenReopensOnFailure() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        breaker.onFailure(acquire(), MILLI);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+    }
+
+    @Test
+    void testIgnoredCallReleasesProbe() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        acquire();
+        long probe = acquire();
+        breaker.onIgnored(probe);
+        acquire();
+    }
+
+    @Test
+    void testStaleCallsDoNotAffectHalfOpenProbes() {
+        long staleSuccess = acquire();
+        long staleFailure = acquire();
+        long staleCancelled = acquire();
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        long probe = acquire();
+        breaker.onFailure(staleFailure, MILLI);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(staleSuccess, MILLI);
+        breaker.onSuccess(probe, MILLI);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        acquire();
+        breaker.onIgnored(staleCancelled);
+        assertEquals(CircuitBreaker.NO_PERMIT, breaker.tryAcquire());
+    }
+
+    @Test
+    void testCallsFromBeforeAResetAreNotCounted() {
+        long stale = acquire();
+        breaker.reset();
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        breaker.onFailure(stale, MILLI);
+
+        assertEquals(4, breaker.getBufferedCalls());
+        assertEquals(0.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void testOpenBreakerFailsFuturesFast() {
+        open();
+        CompletableFuture<String> future = Scheduler.async()
+                .circuitBreaker(breaker)
+                .supply(() -> "never");
+
+        assertTrue(future.isCompletedExceptionally());
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(CircuitOpenException.class, e.getCause());
+        assertEquals("inventory-db", ((CircuitOpenException) e.getCause()).getBreaker());
+    }
+
+    @Test
+    void testOpenBreakerRejectsRun() {
+        open();
+        List<Throwable> errors = new ArrayList<>();
+        ScheduledTask task = Scheduler.async()
+                .circuitBreaker(breaker)
+                .onError(errors::add)
+                .run(token -> fail("should not run"));
+
+        assertTrue(task.isCancelled());
+        assertEquals(1, errors.size());
+        assertInstanceOf(CircuitOpenException.class, errors.get(0));
+    }
+
+    @Test
+    void testGroupSharesBreaker() {
+        TaskGroup group = Scheduler.group("inventory").circuitBreaker(breaker);
+        assertSame(breaker, group.getCircuitBreaker());
+
+        open();
+        assertTrue(group.async().supply(() -> 1).isCompletedExceptionally());
+        assertTrue(group.async().supply(() -> 2).isCompletedExceptionally());
+    }
+
+    @Test
+    void testResetCloses() {
+        open();
+        breaker.reset();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getBufferedCalls());
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> breaker.failureRateThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> breaker.windowSize(0));
+        assertThrows(IllegalArgumentException.class, () -> breaker.halfOpenCalls(0));
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void call(boolean success) {
+        long permit = acquire();
+        if (success) {
+            breaker.onSuccess(permit, MILLI);
+        } else {
+            breaker.onFailure(permit, MILLI);
+        }
+    }
+
+    private long acquire() {
+        long permit = breaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.NO_PERMIT, permit);
+        return permit;
+    }
+}
@@ -0,0 +1,93 @@
+package com.moocrest.scheduler;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.moocrest.scheduler.durable.DurableJournal;
+import com.moocrest.scheduler.durable.DurableTask;
+import com.moocrest.scheduler.durable.DurableTasks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class DurableJournalBenchmark {
+    private static final int ENTRIES = 1_000_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void benchmarkWriteThroughputAndRecovery() {
+        Path file = directory.resolve("durable.journal");
+
+        DurableTasks tasks = new DurableTasks(file);
+        tasks.recover();
+        long writeStart = System.nanoTime();
+        for (int i = 0; i < ENTRIES; i++) {
+            tasks.schedule("unban", "550e8400-e29b-41d4-a716-" + (100_000_000_000L + i), Duration.ofDays(7));
+        }
+        long writeNanos = System.nanoTime() - writeStart;
+        tasks.close();
+
+        long recoverStart = System.nanoTime();
+        DurableTasks recovered = new DurableTasks(file);
+        int count = recovered.recover();
+        long recoverNanos = System.nanoTime() - recoverStart;
+
+        long compactStart = System.nanoTime();
+        recovered.compact();
+        long compactNanos = System.nanoTime() - compactStart;
+        recovered.close();
+
+        assertEquals(ENTRIES, count);
+        report("write", ENTRIES, writeNanos);
+        report("recover", ENTRIES, recoverNanos);
+        report("compact", ENTRIES, compactNanos);
+        System.out.printf("journal size: %.1f MB%n", size(file) / (1024.0 * 1024.0));
+    }
+
+    @Test
+    void benchmarkRecoveryWithChurn() {
+        Path file = directory.resolve("churn.journal");
+
+        DurableJournal journal = new DurableJournal(file);
+        journal.open();
+        for (int i = 0; i < ENTRIES; i++) {
+            journal.append(new DurableTask(i, "crate-cooldown", System.currentTimeMillis() + 60_000, "crate-" + i));
+            if (i % 2 == 1) {
+                journal.remove(i - 1);
+            }
+        }
+        journal.close();
+
+        long start = System.nanoTime();
+        DurableJournal replay = new DurableJournal(file);
+        Map<Long, DurableTask> live = replay.open();
+        long nanos = System.nanoTime() - start;
+        replay.close();
+
+        assertEquals(ENTRIES / 2, live.size());
+        report("recover with churn", ENTRIES + ENTRIES / 2, nanos);
+    }
+
+    private static void report(String operation, int records, long nanos) {
+        double millis = nanos / 1_000_000.0;
+        double perSecond = records / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+        System.out.printf("%s: %d records in %.1f ms (%.0f records/s)%n", operation, records, millis, perSecond);
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.moocrest.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.moocrest.scheduler.durable.DurableJournal;
+import com.moocrest.scheduler.durable.DurableTask;
+import com.moocrest.scheduler.durable.DurableTasks;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableTasksTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testTasksSurviveRestart() {
+        Path file = directory.resolve("durable.journal");
+
+        DurableTasks tasks = new DurableTasks(file);
+        tasks.recover();
+        long unban = tasks.schedule("unban", "player-1", Duration.ofDays(7));
+        long expiry = tasks.schedule("auction-expiry", "auction-42", Duration.ofHours(1));
+        long cancelled = tasks.schedule("unban", "player-2", Duration.ofDays(1));
+        assertTrue(tasks.cancel(cancelled));
+        tasks.close();
+
+        DurableTasks recovered = new DurableTasks(file);
+        assertEquals(2, recovered.recover());
+        assertEquals("player-1", recovered.get(unban).getPayload());
+        assertEquals("auction-expiry", recovered.get(expiry).getHandlerId());
+        assertNull(recovered.get(cancelled));
+
+        long next = recovered.schedule("unban", "player-3", Duration.ofDays(1));
+        assertTrue(next > Math.max(unban, cancelled));
+        recovered.close();
+    }
+
+    @Test
+    void testDueTasksAreDispatchedOnce() {
+        DurableTasks tasks = new DurableTasks(directory.resolve("durable.journal"));
+        tasks.recover();
+        List<String> handled = new ArrayList<>();
+        tasks.register("unban", task -> handled.add(task.getPayload()));
+
+        Instant now = Instant.now();
+        tasks.scheduleAt("unban", "due", now.minusSeconds(1));
+        tasks.scheduleAt("unban", "later", now.plusSeconds(3600));
+
+        assertEquals(1, tasks.dispatchDue(now.toEpochMilli()));
+        assertEquals(0, tasks.dispatchDue(now.toEpochMilli()));
+        assertEquals(List.of("due"), handled);
+        assertEquals(1, tasks.getPendingCount());
+        tasks.close();
+    }
+
+    @Test
+    void testTasksWaitForTheirHandler() {
+        DurableTasks tasks = new DurableTasks(directory.resolve("durable.journal"));
+        tasks.recover();
+        List<String> handled = new ArrayList<>();
+
+        long now = System.currentTimeMillis();
+        tasks.scheduleAt("crate-cooldown", "crate", Instant.ofEpochMilli(now - 1000));
+
+        assertEquals(0, tasks.dispatchDue(now));
+        assertEquals(1, tasks.getPendingCount());
+
+        tasks.register("crate-cooldown", task -> handled.add(task.getPayload()));
+        assertEquals(1, tasks.dispatchDue(now));
+        assertEquals(List.of("crate"), handled);
+        tasks.close();
+    }
+
+    @Test
+    void testCompactionKeepsLiveTasks() {
+        Path file = directory.resolve("durable.journal");
+        DurableTasks tasks = new DurableTasks(file);
+        tasks.recover();
+
+        long kept = 0;
+        for (int i = 0; i < 1000; i++) {
+            long id = tasks.schedule("unban", "player-" + i, Duration.ofDays(1));
+            if (i == 500) {
+                kept = id;
+            } else {
+                tasks.cancel(id);
+            }
+        }
+        tasks.compact();
+        tasks.schedule("unban", "after-compaction", Duration.ofDays(1));
+        tasks.close();
+
+        DurableJournal journal = new DurableJournal(file);
+        Map<Long, DurableTask> live = journal.open();
+        assertEquals(2, live.size());
+        assertEquals(3, journal.getRecordCount());
+        assertEquals(1001, journal.getHighestId());
+        assertEquals("player-500", live.get(kept).getPayload());
+        journal.close();
+    }
+
+    @Test
+    void testAppendsDuringCompactionAreKept() {
+        Path file = directory.resolve("durable.journal");
+        DurableJournal journal = new DurableJournal(file);
+        journal.open();
+
+        List<DurableTask> live = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            DurableTask task = new DurableTask(id, "unban", 1000 + id, "player-" + id);
+            journal.append(task);
+            if (id % 10 == 0) {
+                live.add(task);
+            } else {
+                journal.remove(id);
+            }
+        }
+
+        DurableJournal.Compaction compaction = journal.beginCompaction();
+        journal.append(new DurableTask(101, "unban", 2000, "during-write"));
+        journal.remove(10);
+        compaction.write(live);
+        journal.append(new DurableTask(102, "unban", 2001, "before-swap"));
+        journal.commit(compaction);
+        journal.append(new DurableTask(103, "unban", 2002, "after-swap"));
+        journal.close();
+
+        DurableJournal reopened = new DurableJournal(file);
+        Map<Long, DurableTask> recovered = reopened.open();
+        assertEquals(12, recovered.size());
+        assertFalse(recovered.containsKey(10L));
+        assertEquals("during-write", recovered.get(101L).getPayload());
+        assertEquals("before-swap", recovered.get(102L).getPayload());
+        assertEquals("after-swap", recovered.get(103L).getPayload());
+        assertEquals(103, reopened.getHighestId());
+        assertEquals(15, reopened.getRecordCount());
+        reopened.close();
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws Exception {
+        Path file = directory.resolve("durable.journal");
+        DurableTasks tasks = new DurableTasks(file);
+        tasks.recover();
+        tasks.schedule("unban", "intact", Duration.ofDays(1));
+        tasks.schedule("unban", "torn", Duration.ofDays(1));
+        tasks.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(Files.size(file) - 3);
+        }
+
+        DurableTasks recovered = new DurableTasks(file);
+        assertEquals(1, recovered.recover());
+        recovered.schedule("unban", "appended", Duration.ofDays(1));
+        recovered.close();
+
+        DurableTasks reopened = new DurableTasks(file);
+        assertEquals(2, reopened.recover());
+        reopened.close();
+    }
+}
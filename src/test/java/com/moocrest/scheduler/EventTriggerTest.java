@@ -0,0 +1,217 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.trigger.EventCondition;
+import com.moocrest.scheduler.trigger.EventHub;
+import com.moocrest.scheduler.trigger.EventTriggers;
+import com.moocrest.scheduler.trigger.TriggeredTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventTriggerTest {
+    private Plugin plugin;
+    private List<EventHub<?>> registered;
+    private EventTriggers triggers;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+
+        registered = new ArrayList<>();
+        triggers = new EventTriggers(registered::add);
+    }
+
+    @Test
+    void testTriggerBuilder() {
+        assertNotNull(Scheduler.sync().when(TestEvent.class, event -> event.key == 1));
+        assertNotNull(Scheduler.sync().repeat(20).until(TestEvent.class, TestEvent::getKey, 7));
+        assertNotNull(Scheduler.async().when(TestEvent.class, TestEvent::getKey, 3)
+                .until(TestEvent.class, event -> true));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scheduler.sync().when(TestEvent.class, TestEvent::getKey, null));
+    }
+
+    @Test
+    void testOneListenerPerEventType() {
+        for (int i = 0; i < 100; i++) {
+            triggers.subscribe(EventCondition.keyed(TestEvent.class, TestEvent::getKey, i), false, null, event -> {
+            });
+        }
+
+        assertEquals(1, registered.size());
+        assertEquals(1, triggers.getHubCount());
+        assertEquals(100, triggers.getSubscriptionCount());
+    }
+
+    @Test
+    void testKeyedDispatchOnlyReachesMatchingKey() {
+        int[] fired = new int[1000];
+        for (int i = 0; i < 1000; i++) {
+            int index = i;
+            triggers.subscribe(EventCondition.keyed(TestEvent.class, TestEvent::getKey, i), false, null,
+                    event -> fired[index]++);
+        }
+
+        triggers.getHub(TestEvent.class).dispatch(new TestEvent(42));
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i == 42 ? 1 : 0, fired[i]);
+        }
+    }
+
+    @Test
+    void testOnceSubscriptionsAreRemovedAfterFiring() {
+        AtomicInteger fired = new AtomicInteger();
+        triggers.subscribe(EventCondition.matching(TestEvent.class, event -> event.key > 5), true, null,
+                event -> fired.incrementAndGet());
+        EventHub<TestEvent> hub = triggers.getHub(TestEvent.class);
+
+        hub.dispatch(new TestEvent(1));
+        assertEquals(0, fired.get());
+
+        hub.dispatch(new TestEvent(6));
+        hub.dispatch(new TestEvent(7));
+        assertEquals(1, fired.get());
+        assertEquals(0, triggers.getSubscriptionCount());
+    }
+
+    @Test
+    void testTaskStartsOnlyWhenEventFires() {
+        AtomicInteger started = new AtomicInteger();
+        TriggeredTask task = new TriggeredTask(triggers,
+                EventCondition.keyed(TestEvent.class, TestEvent::getKey, 5), null, () -> {
+                    started.incrementAndGet();
+                    return new TestTask();
+                });
+        EventHub<TestEvent> hub = triggers.getHub(TestEvent.class);
+
+        hub.dispatch(new TestEvent(4));
+        assertFalse(task.isStarted());
+
+        hub.dispatch(new TestEvent(5));
+        hub.dispatch(new TestEvent(5));
+        assertTrue(task.isStarted());
+        assertEquals(1, started.get());
+    }
+
+    @Test
+    void testStopEventCancelsRunningTask() {
+        TestTask running = new TestTask();
+        TriggeredTask task = new TriggeredTask(triggers, null,
+                EventCondition.matching(TestEvent.class, event -> event.key == 9), () -> running);
+
+        assertTrue(task.isStarted());
+        triggers.getHub(TestEvent.class).dispatch(new TestEvent(9));
+
+        assertTrue(running.isCancelled());
+        assertTrue(task.isCancelled());
+        assertEquals(0, triggers.getSubscriptionCount());
+    }
+
+    @Test
+    void testCancelledOwnersAreSwept() {
+        TestTask owner = new TestTask();
+        triggers.subscribe(EventCondition.keyed(TestEvent.class, TestEvent::getKey, 1), false, owner, event -> {
+        });
+        triggers.subscribe(EventCondition.matching(TestEvent.class, event -> true), false, owner, event -> {
+        });
+
+        owner.cancel();
+        triggers.sweep();
+
+        assertEquals(0, triggers.getSubscriptionCount());
+    }
+
+    @Test
+    void testCapturingExtractorsDoNotLeakIndexes() {
+        TestTask owner = new TestTask();
+        for (int i = 0; i < 100; i++) {
+            int offset = i;
+            triggers.subscribe(EventCondition.keyed(TestEvent.class, event -> event.getKey() + offset, i), false,
+                    owner, event -> {
+                    });
+        }
+        EventHub<TestEvent> hub = triggers.getHub(TestEvent.class);
+        assertEquals(100, hub.getIndexCount());
+
+        owner.cancel();
+        triggers.sweep();
+        assertEquals(0, hub.getIndexCount());
+
+        triggers.subscribe(EventCondition.keyed(TestEvent.class, TestEvent::getKey, 3), true, null, event -> {
+        }).cancel();
+        assertEquals(0, hub.getIndexCount());
+    }
+
+    @Test
+    void testTriggersRejectedWhereTheyCannotApply() {
+        assertThrows(IllegalStateException.class, () -> Scheduler.async()
+                .when(TestEvent.class, event -> true)
+                .supply(() -> 1));
+        assertThrows(IllegalStateException.class, () -> Scheduler.async()
+                .until(TestEvent.class, event -> true)
+                .thenSync(result -> {
+                }));
+        assertThrows(IllegalStateException.class, () -> Scheduler.sync()
+                .when(TestEvent.class, event -> true)
+                .supply(() -> 1));
+        assertThrows(IllegalStateException.class, () -> Scheduler.sync()
+                .until(TestEvent.class, TestEvent::getKey, 1)
+                .forEach(List.of(1, 2, 3)));
+    }
+
+    public static class TestEvent extends Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+        private final int key;
+
+        TestEvent(int key) {
+            this.key = key;
+        }
+
+        public int getKey() {
+            return key;
+        }
+
+        @Override
+        public HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+
+    private static class TestTask implements ScheduledTask {
+        private boolean cancelled;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public BukkitTask getBukkitTask() {
+            return null;
+        }
+    }
+}
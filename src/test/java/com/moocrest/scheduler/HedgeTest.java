@@ -0,0 +1,198 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.builder.AsyncSchedulerBuilder;
+import com.moocrest.scheduler.hedge.LatencyTracker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgeTest {
+    private static final long TICK_MILLIS = 5;
+
+    private Plugin plugin;
+    private ScheduledExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+
+        pool = Executors.newScheduledThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testHedgeBuilderChaining() {
+        assertNotNull(Scheduler.async().hedge(5, 2));
+        assertNotNull(Scheduler.async().hedge(new LatencyTracker(), 95.0, 1).timeout(100));
+    }
+
+    @Test
+    void testInvalidHedgeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.async().hedge(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.async().hedge(5, 0));
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.async().hedge(new LatencyTracker(), 0.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.async().hedge(new LatencyTracker(), 101.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.async().hedge(null, 95.0, 1));
+    }
+
+    @Test
+    void testFirstResultWinsAndLosersAreCancelled() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch primaryCancelled = new CountDownLatch(1);
+        CompletableFuture<String> result = pooled()
+                .hedge(2, 1)
+                .supply(token -> {
+                    if (calls.incrementAndGet() > 1) {
+                        return "hedge";
+                    }
+                    while (!token.isCancelled()) {
+                        Thread.onSpinWait();
+                    }
+                    primaryCancelled.countDown();
+                    return "primary";
+                });
+
+        assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+        assertTrue(primaryCancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testFastPrimaryLaunchesNoHedge() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Integer> result = pooled()
+                .hedge(2, 2)
+                .supply(calls::incrementAndGet);
+
+        assertEquals(1, result.get(5, TimeUnit.SECONDS));
+        Thread.sleep(TICK_MILLIS * 10);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testFailedPrimaryFallsBackToAHedge() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> result = pooled()
+                .hedge(1000, 1)
+                .supply(() -> {
+                    if (calls.incrementAndGet() == 1) {
+                        throw new IllegalStateException("primary failed");
+                    }
+                    return "hedge";
+                });
+
+        assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testHedgingAndKeyedAreExclusive() {
+        assertThrows(IllegalStateException.class, () -> Scheduler.async().keyed("player").hedge(5, 1));
+        assertThrows(IllegalStateException.class,
+                () -> Scheduler.async().keyed("player").hedge(new LatencyTracker(), 95.0, 1));
+        assertThrows(IllegalStateException.class, () -> Scheduler.async().hedge(5, 1).keyed("player"));
+    }
+
+    @Test
+    void testTrackerRequiresMinimumSamples() {
+        LatencyTracker tracker = new LatencyTracker(100, 10);
+
+        for (int i = 0; i < 9; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertEquals(-1, tracker.percentileNanos(50.0));
+        assertEquals(-1, tracker.percentileTicks(50.0));
+    }
+
+    @Test
+    void testTrackerPercentiles() {
+        LatencyTracker tracker = new LatencyTracker(100, 10);
+
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(i * 10L));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), tracker.percentileNanos(50.0));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(990), tracker.percentileNanos(99.0));
+        assertEquals(20, tracker.percentileTicks(99.0));
+    }
+
+    @Test
+    void testTrackerKeepsMostRecentSamples() {
+        LatencyTracker tracker = new LatencyTracker(10, 10);
+
+        for (int i = 0; i < 10; i++) {
+            tracker.record(TimeUnit.SECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 10; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertEquals(10, tracker.getSampleCount());
+        assertEquals(1, tracker.percentileTicks(100.0));
+    }
+
+    private AsyncSchedulerBuilder pooled() {
+        return new AsyncSchedulerBuilder() {
+            @Override
+            protected BukkitTask dispatch(Runnable body, boolean async, long delay) {
+                return new PooledTask(pool.schedule(body, delay * TICK_MILLIS, TimeUnit.MILLISECONDS));
+            }
+        };
+    }
+
+    private static class PooledTask implements BukkitTask {
+        private final ScheduledFuture<?> future;
+
+        PooledTask(ScheduledFuture<?> future) {
+            this.future = future;
+        }
+
+        @Override
+        public int getTaskId() {
+            return 0;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return null;
+        }
+
+        @Override
+        public boolean isSync() {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public void cancel() {
+            future.cancel(false);
+        }
+    }
+}
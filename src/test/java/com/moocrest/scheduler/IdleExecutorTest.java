@@ -0,0 +1,145 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.idle.IdleExecutor;
+import com.moocrest.scheduler.impl.TaskRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleExecutorTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testIdleBuilder() {
+        assertNotNull(Scheduler.sync().idle());
+        assertNotNull(Scheduler.sync().idle().delay(20).name("cache-warmup"));
+        assertThrows(IllegalStateException.class,
+                () -> Scheduler.sync().idle().repeat(20).runWhile(() -> true, () -> {
+                }));
+    }
+
+    @Test
+    void testRunsWhileTickHasHeadroom() {
+        IdleExecutor executor = new IdleExecutor().reserve(0);
+        List<Integer> ran = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            executor.submit(() -> ran.add(index));
+        }
+
+        assertEquals(5, executor.getPendingCount());
+        assertEquals(5, executor.drain(1, TimeUnit.MILLISECONDS.toNanos(40)));
+        assertEquals(List.of(0, 1, 2, 3, 4), ran);
+        assertEquals(0, executor.getPendingCount());
+    }
+
+    @Test
+    void testShutdownReportsQueuedIdleWork() {
+        IdleExecutor executor = new IdleExecutor().reserve(0);
+        AtomicBoolean saved = new AtomicBoolean();
+        submit(executor, "warm-cache", false, () -> fail("Dropped idle work should not run"));
+        submit(executor, "save-cache", true, () -> saved.set(true));
+
+        ShutdownReport report = Scheduler.shutdown(Duration.ofSeconds(1));
+
+        assertTrue(saved.get());
+        assertEquals(1, report.getFlushed());
+        assertEquals(1, report.getDropped().size());
+        assertTrue(report.getDropped().get(0).contains("warm-cache"));
+        assertEquals(0, executor.getPendingCount());
+        assertEquals(0, executor.drain(1, TimeUnit.MILLISECONDS.toNanos(40)));
+    }
+
+    @Test
+    void testCancelledIdleWorkLeavesTheRegistry() {
+        IdleExecutor executor = new IdleExecutor().reserve(0);
+        IdleExecutor.IdleTask task = submit(executor, "warm-cache", false, () -> fail("Cancelled"));
+        assertEquals(1, Scheduler.registry().getPendingCount());
+
+        task.cancel();
+        assertEquals(0, Scheduler.registry().getPendingCount());
+        assertEquals(0, executor.drain(1, TimeUnit.MILLISECONDS.toNanos(40)));
+    }
+
+    @Test
+    void testNothingRunsWithoutHeadroom() {
+        IdleExecutor executor = new IdleExecutor().reserve(1);
+        executor.submit(() -> fail("Should not run without spare tick time"));
+
+        assertEquals(0, executor.drain(1, TimeUnit.MICROSECONDS.toNanos(500)));
+        assertEquals(1, executor.getPendingCount());
+    }
+
+    @Test
+    void testStopsWhenBudgetIsSpent() {
+        IdleExecutor executor = new IdleExecutor().reserve(0);
+        for (int i = 0; i < 10; i++) {
+            executor.submit(() -> sleep(3));
+        }
+
+        int executed = executor.drain(1, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertTrue(executed >= 1 && executed <= 3);
+        assertEquals(10 - executed, executor.getPendingCount());
+    }
+
+    @Test
+    void testOverdueTasksRunRegardless() {
+        IdleExecutor executor = new IdleExecutor().maxDeferTicks(10);
+        executor.drain(100, 0);
+        List<String> ran = new ArrayList<>();
+        executor.submit(() -> ran.add("late"));
+
+        executor.drain(105, 0);
+        assertTrue(ran.isEmpty());
+
+        executor.drain(110, 0);
+        assertEquals(List.of("late"), ran);
+    }
+
+    @Test
+    void testCancelledTasksAreSkipped() {
+        IdleExecutor executor = new IdleExecutor().reserve(0);
+        ScheduledTask task = executor.submit(() -> fail("Cancelled task ran"));
+
+        task.cancel();
+
+        assertTrue(task.isCancelled());
+        assertEquals(0, executor.getPendingCount());
+        assertEquals(0, executor.drain(1, TimeUnit.MILLISECONDS.toNanos(40)));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static IdleExecutor.IdleTask submit(IdleExecutor executor, String name, boolean runOnShutdown,
+            Runnable body) {
+        TaskRegistry.Entry entry = Scheduler.registry().register(body, name, null, false, 0, false, runOnShutdown);
+        IdleExecutor.IdleTask task = executor.submit(entry);
+        entry.attach(task);
+        return task;
+    }
+}
@@ -0,0 +1,250 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.keyed.KeyedExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedExecutorTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testKeyedBuilder() {
+        assertNotNull(Scheduler.async().keyed("player-1"));
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.async().keyed(null));
+        assertThrows(IllegalStateException.class, () -> Scheduler.async()
+                .keyed("player-1")
+                .repeat(20)
+                .runWhile(() -> true, () -> {
+                }));
+    }
+
+    @Test
+    void testTasksRunInOrderPerKey() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        KeyedExecutor executor = new KeyedExecutor(pool);
+        int keys = 16;
+        int tasksPerKey = 2000;
+
+        Map<Integer, List<Integer>> seen = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        CountDownLatch done = new CountDownLatch(keys * tasksPerKey);
+
+        for (int key = 0; key < keys; key++) {
+            seen.put(key, new ArrayList<>());
+            running.put(key, new AtomicInteger());
+        }
+
+        List<Thread> producers = new ArrayList<>();
+        for (int key = 0; key < keys; key++) {
+            int producerKey = key;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < tasksPerKey; i++) {
+                    int sequence = i;
+                    executor.submit(producerKey, () -> {
+                        if (running.get(producerKey).incrementAndGet() != 1) {
+                            overlapped.set(true);
+                        }
+                        seen.get(producerKey).add(sequence);
+                        running.get(producerKey).decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertFalse(overlapped.get());
+        for (int key = 0; key < keys; key++) {
+            List<Integer> order = seen.get(key);
+            assertEquals(tasksPerKey, order.size());
+            for (int i = 0; i < tasksPerKey; i++) {
+                assertEquals(i, order.get(i));
+            }
+        }
+        assertEquals(0, executor.getMailboxCount());
+    }
+
+    @Test
+    void testCancelledTaskIsSkipped() throws InterruptedException {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        KeyedExecutor executor = new KeyedExecutor(pool);
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger(0);
+
+        executor.submit("player", () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        KeyedExecutor.KeyedTask cancelled = executor.submit("player", ran::incrementAndGet);
+        KeyedExecutor.KeyedTask kept = executor.submit("player", ran::incrementAndGet);
+        cancelled.cancel();
+        blocker.countDown();
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, ran.get());
+        assertTrue(cancelled.isCancelled());
+        assertTrue(kept.isCancelled());
+        assertEquals(0, executor.getMailboxCount());
+    }
+
+    @Test
+    void testHeldSlotRunsRetryBeforeLaterTasks() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        KeyedExecutor executor = new KeyedExecutor(pool);
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        CountDownLatch bound = new CountDownLatch(1);
+        KeyedExecutor.Slot[] slot = new KeyedExecutor.Slot[1];
+
+        executor.submit("player", () -> {
+            seen.add("first");
+            done.countDown();
+            executor.hold("player");
+            slot[0] = executor.takeHeld("player");
+            assertTrue(slot[0].bind(new KeyedExecutor.KeyedTask("player", () -> {
+                seen.add("retry");
+                done.countDown();
+            })));
+            assertNull(executor.takeHeld("player"));
+            bound.countDown();
+        });
+        assertTrue(bound.await(5, TimeUnit.SECONDS));
+        executor.submit("player", () -> {
+            seen.add("second");
+            done.countDown();
+        });
+
+        Thread.sleep(50);
+        assertEquals(List.of("first"), seen);
+        slot[0].resume();
+        slot[0].resume();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "retry", "second"), seen);
+        assertEquals(0, executor.getMailboxCount());
+    }
+
+    @Test
+    void testCancellingHeldRetryReleasesMailbox() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        KeyedExecutor executor = new KeyedExecutor(pool);
+        AtomicInteger ran = new AtomicInteger(0);
+        CountDownLatch bound = new CountDownLatch(1);
+        KeyedExecutor.KeyedTask[] retry = new KeyedExecutor.KeyedTask[1];
+
+        executor.submit("player", () -> {
+            executor.hold("player");
+            retry[0] = new KeyedExecutor.KeyedTask("player", ran::incrementAndGet);
+            executor.takeHeld("player").bind(retry[0]);
+            bound.countDown();
+        });
+        assertTrue(bound.await(5, TimeUnit.SECONDS));
+        CountDownLatch next = new CountDownLatch(1);
+        executor.submit("player", next::countDown);
+
+        retry[0].cancel();
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, ran.get());
+        assertEquals(0, executor.getMailboxCount());
+    }
+
+    @Test
+    void testContendedKeyDrainsOnSmallPool() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        KeyedExecutor executor = new KeyedExecutor(pool);
+        int producers = 4;
+        int tasksPerProducer = 5000;
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        AtomicInteger otherKey = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers * tasksPerProducer);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < tasksPerProducer; i++) {
+                    executor.submit("player", () -> {
+                        if (running.incrementAndGet() != 1) {
+                            overlapped.set(true);
+                        }
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+                    if (i % 500 == 0) {
+                        executor.submit("other", otherKey::incrementAndGet);
+                    }
+                }
+            });
+            threads.add(producer);
+            producer.start();
+        }
+
+        start.countDown();
+        for (Thread producer : threads) {
+            producer.join();
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertFalse(overlapped.get());
+        assertEquals(producers * (tasksPerProducer / 500), otherKey.get());
+        assertEquals(0, executor.getMailboxCount());
+    }
+
+    @Test
+    void testHoldOutsideMailboxIsIgnored() {
+        KeyedExecutor executor = new KeyedExecutor(Runnable::run);
+        executor.hold("player");
+        assertNull(executor.takeHeld("player"));
+    }
+}
@@ -0,0 +1,235 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.builder.AsyncSchedulerBuilder;
+import com.moocrest.scheduler.impl.RetryingScheduledTask;
+import com.moocrest.scheduler.retry.Backoff;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryTest {
+    private static final long TICK_MILLIS = 5;
+
+    private Plugin plugin;
+    private ScheduledExecutorService pool;
+    private List<Long> dispatchDelays;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+
+        pool = Executors.newScheduledThreadPool(2);
+        dispatchDelays = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testRetryBuilderChaining() {
+        assertNotNull(Scheduler.async().retry(3, Backoff.fixed(20)));
+        assertNotNull(Scheduler.async()
+                .retry(5, Backoff.exponential(10, 200).withJitter(0.2))
+                .retryOn(throwable -> throwable instanceof IllegalStateException)
+                .onRetry((attempt, throwable) -> {
+                }));
+    }
+
+    @Test
+    void testInvalidAttemptsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.async().retry(0, Backoff.none()));
+    }
+
+    @Test
+    void testFixedBackoff() {
+        Backoff backoff = Backoff.fixed(20);
+
+        assertEquals(20, backoff.delayFor(1));
+        assertEquals(20, backoff.delayFor(5));
+    }
+
+    @Test
+    void testExponentialBackoffIsCapped() {
+        Backoff backoff = Backoff.exponential(10, 100);
+
+        assertEquals(10, backoff.delayFor(1));
+        assertEquals(20, backoff.delayFor(2));
+        assertEquals(40, backoff.delayFor(3));
+        assertEquals(80, backoff.delayFor(4));
+        assertEquals(100, backoff.delayFor(5));
+        assertEquals(100, backoff.delayFor(30));
+    }
+
+    @Test
+    void testJitterStaysWithinBounds() {
+        Backoff backoff = Backoff.fixed(100).withJitter(0.25);
+
+        for (int i = 0; i < 1000; i++) {
+            long delay = backoff.delayFor(1);
+            assertTrue(delay >= 75 && delay <= 100, "delay out of range: " + delay);
+        }
+    }
+
+    @Test
+    void testJitterNeverExceedsMaxDelay() {
+        Backoff backoff = Backoff.exponential(10, 200).withJitter(0.5);
+
+        for (int i = 0; i < 1000; i++) {
+            long delay = backoff.delayFor(10);
+            assertTrue(delay >= 100 && delay <= 200, "delay out of range: " + delay);
+        }
+    }
+
+    @Test
+    void testRepeatingRetryRejected() {
+        assertThrows(IllegalStateException.class, () -> Scheduler.async()
+                .retry(3, Backoff.fixed(20))
+                .repeat(20)
+                .runWhile(() -> true, () -> {
+                }));
+    }
+
+    @Test
+    void testAttemptsExposedOnHandle() {
+        ScheduledTask task = new RetryingScheduledTask();
+        assertEquals(0, task.getAttempts());
+
+        ((RetryingScheduledTask) task).nextAttempt();
+        ((RetryingScheduledTask) task).nextAttempt();
+        assertEquals(2, task.getAttempts());
+    }
+
+    @Test
+    void testFailedAttemptsAreRescheduledWithBackoff() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> retried = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> result = pooled()
+                .retry(3, Backoff.fixed(2))
+                .onRetry((attempt, throwable) -> retried.add(attempt))
+                .supply(() -> {
+                    if (calls.incrementAndGet() < 3) {
+                        throw new IllegalStateException("flaky");
+                    }
+                    return "ok";
+                });
+
+        assertEquals("ok", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+        assertEquals(List.of(1, 2), retried);
+        assertEquals(List.of(0L, 2L, 2L), dispatchDelays);
+    }
+
+    @Test
+    void testRetryOnSkipsOtherFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> result = pooled()
+                .retry(5, Backoff.fixed(1))
+                .retryOn(throwable -> throwable instanceof IllegalStateException)
+                .onError(throwable -> {
+                })
+                .supply(() -> {
+                    calls.incrementAndGet();
+                    throw new IllegalArgumentException("not retryable");
+                });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertEquals(1, calls.get());
+        assertEquals(1, dispatchDelays.size());
+    }
+
+    @Test
+    void testGivesUpAfterTheLastAttempt() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> reported = new CompletableFuture<>();
+        ScheduledTask task = pooled()
+                .retry(3, Backoff.fixed(1))
+                .onError(throwable -> {
+                    errors.add(throwable);
+                    reported.complete(null);
+                })
+                .run(() -> {
+                    calls.incrementAndGet();
+                    throw new IllegalStateException("down");
+                });
+
+        reported.get(5, TimeUnit.SECONDS);
+        Thread.sleep(TICK_MILLIS * 4);
+        assertEquals(3, calls.get());
+        assertEquals(3, task.getAttempts());
+        assertEquals(1, errors.size());
+        assertEquals("down", errors.get(0).getMessage());
+    }
+
+    @Test
+    void testInvalidBackoffRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Backoff.exponential(100, 10));
+        assertThrows(IllegalArgumentException.class, () -> Backoff.fixed(10).withJitter(1.5));
+        assertThrows(IllegalArgumentException.class, () -> Backoff.fixed(10).multiplier(0.5));
+    }
+
+    private AsyncSchedulerBuilder pooled() {
+        return new AsyncSchedulerBuilder() {
+            @Override
+            protected BukkitTask dispatch(Runnable body, boolean async, long delay) {
+                dispatchDelays.add(delay);
+                return new PooledTask(pool.schedule(body, delay * TICK_MILLIS, TimeUnit.MILLISECONDS));
+            }
+        };
+    }
+
+    private static class PooledTask implements BukkitTask {
+        private final ScheduledFuture<?> future;
+
+        PooledTask(ScheduledFuture<?> future) {
+            this.future = future;
+        }
+
+        @Override
+        public int getTaskId() {
+            return 0;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return null;
+        }
+
+        @Override
+        public boolean isSync() {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public void cancel() {
+            future.cancel(false);
+        }
+    }
+}
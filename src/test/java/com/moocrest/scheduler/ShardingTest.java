@@ -0,0 +1,152 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.group.TaskGroup;
+import com.moocrest.scheduler.shard.FileShardCoordinator;
+import com.moocrest.scheduler.shard.LocalShardCoordinator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardingTest {
+    private Plugin plugin;
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+        directory = Files.createTempDirectory("scheduler-shards");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Scheduler.sharding(null);
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testShardingBuilder() {
+        assertNotNull(Scheduler.sync().name("leaderboard").repeat(6000).singleton());
+        assertNotNull(Scheduler.async().sharded("expirations-3"));
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.async().sharded(null));
+
+        TaskGroup group = Scheduler.group("jobs").singleton();
+        assertEquals("singleton:group:jobs", group.getShardKey());
+    }
+
+    @Test
+    void testSingletonNeedsName() {
+        assertThrows(IllegalStateException.class, () -> Scheduler.sync().singleton().run(() -> {
+        }));
+        assertThrows(IllegalStateException.class, () -> Scheduler.async().sharded(1).supply(() -> "value"));
+    }
+
+    @Test
+    void testEveryKeyHasExactlyOneOwner() {
+        List<String> nodes = List.of("node-1", "node-2", "node-3");
+        List<LocalShardCoordinator> coordinators = nodes.stream()
+                .map(node -> new LocalShardCoordinator(node, nodes))
+                .toList();
+
+        int[] owned = new int[nodes.size()];
+        for (int key = 0; key < 3000; key++) {
+            int owners = 0;
+            for (int i = 0; i < coordinators.size(); i++) {
+                if (coordinators.get(i).owns("shard-" + key)) {
+                    owners++;
+                    owned[i]++;
+                }
+            }
+            assertEquals(1, owners);
+        }
+
+        for (int count : owned) {
+            assertTrue(count > 800 && count < 1200, "Uneven shard distribution: " + count);
+        }
+    }
+
+    @Test
+    void testRemovingANodeOnlyMovesItsShards() {
+        LocalShardCoordinator coordinator = new LocalShardCoordinator("node-1",
+                List.of("node-1", "node-2", "node-3"));
+
+        String[] before = new String[1000];
+        for (int key = 0; key < before.length; key++) {
+            before[key] = coordinator.getOwner("shard-" + key);
+        }
+
+        coordinator.setMembers(List.of("node-1", "node-2"));
+
+        for (int key = 0; key < before.length; key++) {
+            if (!before[key].equals("node-3")) {
+                assertEquals(before[key], coordinator.getOwner("shard-" + key));
+            }
+        }
+    }
+
+    @Test
+    void testFileCoordinatorsSeeEachOther() {
+        FileShardCoordinator first = new FileShardCoordinator(directory, "node-1", Duration.ofSeconds(30));
+        FileShardCoordinator second = new FileShardCoordinator(directory, "node-2", Duration.ofSeconds(30));
+        first.heartbeat();
+
+        assertEquals(2, first.getMembers().size());
+        assertEquals(2, second.getMembers().size());
+        for (int key = 0; key < 100; key++) {
+            assertTrue(first.owns("shard-" + key) ^ second.owns("shard-" + key));
+        }
+
+        second.close();
+        first.heartbeat();
+
+        for (int key = 0; key < 100; key++) {
+            assertTrue(first.owns("shard-" + key));
+        }
+        first.close();
+    }
+
+    @Test
+    void testHeartbeatRenewsWithoutOwnershipChecks() throws InterruptedException {
+        FileShardCoordinator first = new FileShardCoordinator(directory, "node-1", Duration.ofMillis(300));
+        FileShardCoordinator second = new FileShardCoordinator(directory, "node-2", Duration.ofMillis(300));
+
+        Thread.sleep(900);
+        assertEquals(2, first.getMembers().size());
+        assertEquals(2, second.getMembers().size());
+        for (int key = 0; key < 100; key++) {
+            assertTrue(first.owns("shard-" + key) ^ second.owns("shard-" + key));
+        }
+
+        second.close();
+        Thread.sleep(600);
+        assertEquals(Set.of("node-1"), first.getMembers());
+        first.close();
+    }
+
+    @Test
+    void testInstalledCoordinatorIsExposed() {
+        LocalShardCoordinator coordinator = new LocalShardCoordinator("node-1");
+        Scheduler.sharding(coordinator);
+
+        assertSame(coordinator, Scheduler.shardCoordinator());
+        assertTrue(coordinator.owns("anything"));
+    }
+}
@@ -0,0 +1,201 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.ShutdownReport;
+import com.moocrest.scheduler.impl.TaskRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShutdownTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testRunOnShutdownBuilder() {
+        assertNotNull(Scheduler.sync().delay(6000).runOnShutdown());
+        assertNotNull(Scheduler.async().runOnShutdown().delay(20));
+    }
+
+    @Test
+    void testShutdownDrainsPendingWork() throws InterruptedException {
+        TaskRegistry registry = new TaskRegistry();
+        AtomicInteger ran = new AtomicInteger(0);
+
+        registry.register(ran::incrementAndGet, "queued-save", null, true, 0, false, false);
+        registry.register(ran::incrementAndGet, "flagged-sync", null, false, 6000, false, true);
+        registry.register(ran::incrementAndGet, "delayed-async", "stats", true, 6000, false, false);
+
+        CountDownLatch started = new CountDownLatch(1);
+        TaskRegistry.Entry inFlight = registry.register(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "in-flight", null, true, 0, false, false);
+        Thread worker = new Thread(inFlight);
+        worker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        ShutdownReport report = registry.shutdown(Duration.ofSeconds(5));
+
+        assertEquals(2, ran.get());
+        assertEquals(1, report.getCompleted());
+        assertEquals(2, report.getFlushed());
+        assertEquals(1, report.getDropped().size());
+        assertTrue(report.getDropped().get(0).contains("delayed-async"));
+        assertTrue(report.isClean());
+        assertFalse(registry.isAccepting());
+
+        TaskRegistry.Entry late = registry.register(ran::incrementAndGet, null, null, true, 0, false, false);
+        assertTrue(late.isDeferred());
+        assertTrue(late.isCancelled());
+        late.run();
+        assertEquals(2, ran.get());
+    }
+
+    @Test
+    void testContinuationsScheduledDuringDrainRunInline() {
+        TaskRegistry registry = new TaskRegistry();
+        AtomicInteger ran = new AtomicInteger(0);
+        AtomicInteger mainThreadRuns = new AtomicInteger(0);
+        Thread shutdownThread = Thread.currentThread();
+
+        registry.register(() -> {
+            ran.incrementAndGet();
+            registry.register(() -> {
+                ran.incrementAndGet();
+                registry.register(() -> {
+                    ran.incrementAndGet();
+                    if (Thread.currentThread() == shutdownThread) {
+                        mainThreadRuns.incrementAndGet();
+                    }
+                }, "then-sync", null, false, 0, false, false);
+            }, "retry", null, true, 40, false, false);
+        }, "save", null, true, 0, false, false);
+
+        ShutdownReport report = registry.shutdown(Duration.ofSeconds(5));
+
+        assertEquals(3, ran.get());
+        assertEquals(1, mainThreadRuns.get());
+        assertEquals(3, report.getFlushed());
+        assertTrue(report.isClean());
+    }
+
+    @Test
+    void testRepeatingTaskScheduledDuringDrainIsDropped() {
+        TaskRegistry registry = new TaskRegistry();
+        AtomicInteger ran = new AtomicInteger(0);
+        TaskRegistry.Entry[] repeating = new TaskRegistry.Entry[1];
+
+        registry.register(() -> repeating[0] = registry.register(ran::incrementAndGet, "ticker", null, false, 0,
+                true, false), "save", null, true, 0, false, false);
+        registry.shutdown(Duration.ofSeconds(5));
+
+        assertTrue(repeating[0].isDeferred());
+        assertTrue(repeating[0].isCancelled());
+        assertEquals(0, ran.get());
+    }
+
+    @Test
+    void testShutdownReportsWorkPastDeadline() throws InterruptedException {
+        TaskRegistry registry = new TaskRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        TaskRegistry.Entry stuck = registry.register(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "stuck", null, true, 0, false, false);
+        Thread worker = new Thread(stuck);
+        worker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        ShutdownReport report = registry.shutdown(Duration.ofMillis(50));
+        release.countDown();
+
+        assertFalse(report.isClean());
+        assertEquals(1, report.getUnfinished().size());
+        assertTrue(report.getUnfinished().get(0).contains("stuck"));
+    }
+
+    @Test
+    void testClaimedEntriesDoNotRunTwice() {
+        TaskRegistry registry = new TaskRegistry();
+        AtomicInteger ran = new AtomicInteger(0);
+
+        TaskRegistry.Entry entry = registry.register(ran::incrementAndGet, null, null, true, 0, false, false);
+        registry.shutdown(Duration.ofSeconds(1));
+        entry.run();
+
+        assertEquals(1, ran.get());
+    }
+
+    @Test
+    void testKeyedEntriesDrainInOrderPerKey() throws InterruptedException {
+        TaskRegistry registry = new TaskRegistry();
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+
+        CountDownLatch started = new CountDownLatch(1);
+        TaskRegistry.Entry inFlight = registry.register(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seen.add("player-0");
+        }, null, null, true, 0, false, false, "player");
+        Thread worker = new Thread(inFlight);
+        worker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i <= 50; i++) {
+            String label = "player-" + i;
+            registry.register(() -> {
+                if (running.incrementAndGet() != 1) {
+                    overlapped.set(true);
+                }
+                seen.add(label);
+                running.decrementAndGet();
+            }, null, null, true, 0, false, false, "player");
+        }
+
+        ShutdownReport report = registry.shutdown(Duration.ofSeconds(5));
+
+        assertTrue(report.isClean());
+        assertEquals(50, report.getFlushed());
+        assertFalse(overlapped.get());
+        assertEquals(51, seen.size());
+        for (int i = 0; i <= 50; i++) {
+            assertEquals("player-" + i, seen.get(i));
+        }
+    }
+}
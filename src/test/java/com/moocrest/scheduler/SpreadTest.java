@@ -0,0 +1,232 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.spread.SpreadTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpreadTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testSpreadBuilder() {
+        assertNotNull(Scheduler.sync().spread(List::of, 100));
+        assertThrows(IllegalArgumentException.class, () -> Scheduler.sync().spread(List::of, 0));
+    }
+
+    @Test
+    void testEveryItemVisitedOncePerPeriodInEvenSlices() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            items.add(i);
+        }
+        Map<Integer, Integer> visits = new HashMap<>();
+        SpreadTask<Integer> task = new SpreadTask<>(() -> items, 100, item -> visits.merge(item, 1, Integer::sum),
+                null);
+
+        for (int tick = 0; tick < 100; tick++) {
+            task.run();
+            assertEquals(20, task.getLastSliceSize());
+        }
+
+        assertEquals(2000, visits.size());
+        assertTrue(visits.values().stream().allMatch(count -> count == 1));
+    }
+
+    @Test
+    void testUnevenCountsStillFinishWithinThePeriod() {
+        List<Integer> items = List.of(1, 2, 3, 4, 5, 6, 7);
+        List<Integer> visited = new ArrayList<>();
+        SpreadTask<Integer> task = new SpreadTask<>(() -> items, 3, visited::add, null);
+
+        for (int tick = 0; tick < 3; tick++) {
+            task.run();
+            assertTrue(task.getLastSliceSize() <= 3);
+        }
+
+        assertEquals(items, visited.stream().sorted().toList());
+    }
+
+    @Test
+    void testHandlesAddsAndRemovesBetweenTicks() {
+        List<String> visited = new ArrayList<>();
+        SpreadTask<String> task = new SpreadTask<>(4, visited::add, null);
+        for (String item : List.of("a", "b", "c", "d")) {
+            assertTrue(task.add(item));
+        }
+        assertFalse(task.add("a"));
+
+        task.run();
+        assertEquals(List.of("a"), visited);
+
+        assertTrue(task.remove("b"));
+        assertFalse(task.remove("b"));
+        task.add("e");
+        task.run();
+        task.run();
+        task.run();
+
+        assertEquals(List.of("a", "e", "c", "d"), visited);
+        assertEquals(4, task.getTrackedCount());
+
+        visited.clear();
+        for (int tick = 0; tick < 4; tick++) {
+            task.run();
+        }
+        assertEquals(List.of("a", "e", "c", "d"), visited);
+    }
+
+    @Test
+    void testSourceIsReadOncePerPass() {
+        Set<String> online = new LinkedHashSet<>(List.of("a", "b", "c", "d"));
+        List<String> visited = new ArrayList<>();
+        int[] reads = new int[1];
+        SpreadTask<String> task = new SpreadTask<>(() -> {
+            reads[0]++;
+            return online;
+        }, 4, visited::add, null);
+
+        for (int tick = 0; tick < 4; tick++) {
+            task.run();
+        }
+        assertEquals(1, reads[0]);
+        assertEquals(List.of("a", "b", "c", "d"), visited);
+
+        online.remove("b");
+        online.add("e");
+        visited.clear();
+        for (int tick = 0; tick < 4; tick++) {
+            task.run();
+        }
+        assertEquals(2, reads[0]);
+        assertEquals(List.of("a", "e", "c", "d"), visited);
+        assertEquals(4, task.getTrackedCount());
+    }
+
+    @Test
+    void testSlicesStayBalancedUnderChurn() {
+        Set<Integer> online = new LinkedHashSet<>();
+        for (int i = 0; i < 40; i++) {
+            online.add(i);
+        }
+        SpreadTask<Integer> task = new SpreadTask<>(() -> online, 10, item -> {
+        }, null);
+
+        int next = 40;
+        for (int pass = 0; pass < 50; pass++) {
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (int tick = 0; tick < 10; tick++) {
+                task.run();
+                min = Math.min(min, task.getLastSliceSize());
+                max = Math.max(max, task.getLastSliceSize());
+            }
+            assertTrue(max - min <= 1, "slices ranged from " + min + " to " + max + " in pass " + pass);
+
+            online.remove(online.iterator().next());
+            online.add(next++);
+        }
+        assertEquals(40, task.getTrackedCount());
+    }
+
+    @Test
+    void testItemsLeavingMidPassAreVisitedUntilTheNextPass() {
+        Set<String> online = new LinkedHashSet<>(List.of("a", "b", "c", "d"));
+        List<String> visited = new ArrayList<>();
+        SpreadTask<String> task = new SpreadTask<>(() -> online, 4, visited::add, null);
+
+        task.run();
+        online.remove("c");
+        task.run();
+        task.run();
+        assertEquals(List.of("a", "b", "c"), visited);
+
+        online.remove("d");
+        assertTrue(task.remove("d"));
+        task.run();
+        assertEquals(List.of("a", "b", "c"), visited);
+
+        visited.clear();
+        for (int tick = 0; tick < 4; tick++) {
+            task.run();
+        }
+        assertEquals(List.of("a", "b"), visited);
+    }
+
+    @Test
+    void testItemsCanRemoveThemselvesWhileVisited() {
+        List<Integer> visited = new ArrayList<>();
+        AtomicReference<SpreadTask<Integer>> self = new AtomicReference<>();
+        SpreadTask<Integer> task = new SpreadTask<>(2, item -> {
+            visited.add(item);
+            if (item % 2 == 0) {
+                self.get().remove(item);
+                self.get().add(item + 100);
+            }
+        }, null);
+        self.set(task);
+        for (int i = 0; i < 6; i++) {
+            task.add(i);
+        }
+
+        task.run();
+        task.run();
+        assertEquals(List.of(0, 2, 4, 1, 3, 5), visited);
+        assertEquals(6, task.getTrackedCount());
+
+        visited.clear();
+        task.run();
+        assertEquals(List.of(100, 102, 104), visited);
+    }
+
+    @Test
+    void testErrorsAreReportedAndDoNotStopTheSlice() {
+        List<Throwable> errors = new ArrayList<>();
+        List<Integer> visited = new ArrayList<>();
+        SpreadTask<Integer> task = new SpreadTask<>(() -> List.of(1, 2, 3), 1, item -> {
+            if (item == 2) {
+                throw new IllegalStateException("bad item");
+            }
+            visited.add(item);
+        }, errors::add);
+
+        task.run();
+
+        assertEquals(List.of(1, 3), visited);
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void testSliceCostIsExposed() {
+        SpreadTask<Integer> task = new SpreadTask<>(() -> List.of(1, 2, 3, 4), 2, item -> {
+        }, null);
+
+        task.run();
+        task.run();
+
+        assertEquals(2, task.getLastSliceSize());
+        assertTrue(task.getLastSliceNanos() > 0);
+        assertTrue(task.getAverageSliceNanos() > 0);
+        assertEquals(4, task.getTrackedCount());
+    }
+}
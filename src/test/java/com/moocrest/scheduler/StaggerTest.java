@@ -0,0 +1,125 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.stagger.PhaseBalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaggerTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testStaggerBuilder() {
+        assertNotNull(Scheduler.sync().repeat(20).stagger());
+        assertNotNull(Scheduler.async().delay(40).repeat(100).stagger(false));
+    }
+
+    @Test
+    void testRepeatingTasksAreSpreadAcrossThePeriod() {
+        PhaseBalancer balancer = new PhaseBalancer(1200);
+        long now = 1000;
+
+        for (int i = 0; i < 100; i++) {
+            long offset = balancer.offsetFor(now, 20);
+            assertTrue(offset >= 0 && offset < 20);
+            balancer.register(new TestTask(), now + offset, 20);
+        }
+
+        for (long tick = now; tick < now + 20; tick++) {
+            assertEquals(5, balancer.getLoad(tick));
+        }
+    }
+
+    @Test
+    void testMixedPeriodsAvoidHotTicks() {
+        PhaseBalancer balancer = new PhaseBalancer(1200);
+        balancer.register(new TestTask(), 0, 20);
+        balancer.register(new TestTask(), 0, 40);
+
+        long offset = balancer.offsetFor(0, 40);
+
+        assertNotEquals(0L, offset);
+        assertNotEquals(20L, offset);
+    }
+
+    @Test
+    void testCancelledTasksReleaseTheirSlots() {
+        PhaseBalancer balancer = new PhaseBalancer(1200);
+        List<TestTask> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            TestTask task = new TestTask();
+            tasks.add(task);
+            balancer.register(task, 0, 20);
+        }
+        assertEquals(10, balancer.getLoad(0));
+
+        tasks.forEach(TestTask::cancel);
+
+        assertEquals(0, balancer.getLoad(0));
+        assertEquals(0, balancer.getRegisteredCount());
+        assertEquals(0, balancer.offsetFor(0, 20));
+    }
+
+    @Test
+    void testCancelledRegistrationsAreSweptWithoutOffsetLookups() {
+        PhaseBalancer balancer = new PhaseBalancer(1200);
+        TestTask live = new TestTask();
+        balancer.register(live, 0, 20);
+
+        for (int i = 0; i < 10_000; i++) {
+            TestTask task = new TestTask();
+            balancer.register(task, i, 20);
+            task.cancel();
+            assertTrue(balancer.getTrackedCount() <= 257, "tracked " + balancer.getTrackedCount());
+        }
+
+        assertEquals(1, balancer.getRegisteredCount());
+        assertEquals(1, balancer.getLoad(0));
+    }
+
+    private static class TestTask implements BukkitTask {
+        private boolean cancelled;
+
+        @Override
+        public int getTaskId() {
+            return 0;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return null;
+        }
+
+        @Override
+        public boolean isSync() {
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
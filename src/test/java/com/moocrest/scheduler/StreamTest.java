@@ -0,0 +1,242 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.stream.TickSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testStreamBuilder() {
+        assertNotNull(Scheduler.stream(new SubmissionPublisher<String>())
+                .maxItemsPerTick(10)
+                .maxMillisPerTick(5)
+                .bufferSize(100)
+                .onError(Throwable::printStackTrace)
+                .onComplete(() -> {
+                }));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scheduler.stream(new SubmissionPublisher<String>()).maxItemsPerTick(0));
+    }
+
+    @Test
+    void testDrainIsBoundedPerTick() {
+        List<Integer> received = new ArrayList<>();
+        TickSubscriber<Integer> subscriber = new TickSubscriber<>(received::add, 10, TimeUnit.SECONDS.toNanos(1),
+                100, null, null, Runnable::run);
+        CountingPublisher publisher = new CountingPublisher(1000);
+        publisher.subscribe(subscriber);
+
+        assertEquals(100, publisher.requested);
+        assertEquals(100, subscriber.getBufferedCount());
+
+        assertEquals(10, subscriber.drain());
+        assertEquals(10, received.size());
+        assertEquals(110, publisher.requested);
+        assertEquals(100, subscriber.getBufferedCount());
+    }
+
+    @Test
+    void testDemandFollowsConsumption() {
+        TickSubscriber<Integer> subscriber = new TickSubscriber<>(item -> {
+        }, 5, TimeUnit.SECONDS.toNanos(1), 20, null, null, Runnable::run);
+        CountingPublisher publisher = new CountingPublisher(1000);
+        publisher.subscribe(subscriber);
+
+        for (int tick = 0; tick < 10; tick++) {
+            subscriber.drain();
+            assertTrue(publisher.requested - publisher.emitted <= 20);
+            assertTrue(subscriber.getBufferedCount() <= 20);
+        }
+        assertEquals(70, publisher.requested);
+    }
+
+    @Test
+    void testCompletionAfterBufferIsDrained() {
+        AtomicBoolean completed = new AtomicBoolean();
+        List<Integer> received = new ArrayList<>();
+        TickSubscriber<Integer> subscriber = new TickSubscriber<>(received::add, 4, TimeUnit.SECONDS.toNanos(1),
+                100, null, () -> completed.set(true), Runnable::run);
+        new CountingPublisher(10).subscribe(subscriber);
+
+        subscriber.drain();
+        subscriber.drain();
+        assertFalse(completed.get());
+
+        subscriber.drain();
+        assertTrue(completed.get());
+        assertTrue(subscriber.isDone());
+        assertEquals(10, received.size());
+        assertEquals(0, subscriber.drain());
+    }
+
+    @Test
+    void testUpstreamErrorIsReported() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        TickSubscriber<Integer> subscriber = new TickSubscriber<>(item -> {
+        }, 4, TimeUnit.SECONDS.toNanos(1), 10, error::set, null, Runnable::run);
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onError(new IllegalStateException("boom"));
+
+        subscriber.drain();
+
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testCancelStopsUpstream() {
+        TickSubscriber<Integer> subscriber = new TickSubscriber<>(item -> {
+        }, 4, TimeUnit.SECONDS.toNanos(1), 10, null, null, Runnable::run);
+        CountingPublisher publisher = new CountingPublisher(1000);
+        publisher.subscribe(subscriber);
+
+        subscriber.cancel();
+
+        assertTrue(publisher.cancelled);
+        assertEquals(0, subscriber.getBufferedCount());
+        assertEquals(0, subscriber.drain());
+    }
+
+    @Test
+    void testSubscriptionSignalsAreSerialized() throws InterruptedException {
+        ExecutorService requests = Executors.newFixedThreadPool(4);
+        AtomicBoolean overlapped = new AtomicBoolean();
+        AtomicBoolean requestedAfterCancel = new AtomicBoolean();
+
+        for (int round = 0; round < 200; round++) {
+            AtomicInteger inside = new AtomicInteger();
+            AtomicBoolean upstreamCancelled = new AtomicBoolean();
+            Flow.Subscription subscription = new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    enter();
+                    if (upstreamCancelled.get()) {
+                        requestedAfterCancel.set(true);
+                    }
+                    leave();
+                }
+
+                @Override
+                public void cancel() {
+                    enter();
+                    upstreamCancelled.set(true);
+                    leave();
+                }
+
+                private void enter() {
+                    if (inside.incrementAndGet() != 1) {
+                        overlapped.set(true);
+                    }
+                    Thread.onSpinWait();
+                }
+
+                private void leave() {
+                    inside.decrementAndGet();
+                }
+            };
+
+            TickSubscriber<Integer> subscriber = new TickSubscriber<>(item -> {
+            }, 1, TimeUnit.SECONDS.toNanos(1), 8, null, null, requests);
+            CountDownLatch start = new CountDownLatch(1);
+            Thread upstream = new Thread(() -> {
+                awaitQuietly(start);
+                subscriber.onSubscribe(subscription);
+                for (int i = 0; i < 8; i++) {
+                    subscriber.onNext(i);
+                }
+            });
+            Thread main = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < 8; i++) {
+                    subscriber.drain();
+                }
+                subscriber.cancel();
+            });
+            upstream.start();
+            main.start();
+            start.countDown();
+            upstream.join();
+            main.join();
+        }
+
+        requests.shutdown();
+        assertTrue(requests.awaitTermination(5, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        assertFalse(requestedAfterCancel.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CountingPublisher implements Flow.Publisher<Integer> {
+        private final int total;
+        private long requested;
+        private int emitted;
+        private boolean cancelled;
+
+        CountingPublisher(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    while (!cancelled && emitted < requested && emitted < total) {
+                        subscriber.onNext(emitted++);
+                    }
+                    if (emitted == total && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.job.JobContext;
+import com.moocrest.scheduler.job.SyncJob;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncJobTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testJobBuilder() {
+        assertNotNull(Scheduler.sync().name("regen"));
+        assertThrows(IllegalStateException.class, () -> Scheduler.sync().idle().job(ctx -> {}));
+    }
+
+    @Test
+    void testPausesAndResumesAcrossSlices() {
+        List<Integer> steps = new ArrayList<>();
+        SyncJob job = new SyncJob("steps", ctx -> {
+            for (int i = 0; i < 3; i++) {
+                steps.add(i);
+                ctx.pause();
+            }
+        }, null);
+
+        assertTrue(job.resume());
+        assertEquals(List.of(0), steps);
+        assertTrue(job.resume());
+        assertEquals(List.of(0, 1), steps);
+        assertTrue(job.resume());
+        assertFalse(job.resume());
+        assertEquals(List.of(0, 1, 2), steps);
+        assertTrue(job.isDone());
+        assertTrue(job.getFuture().isDone());
+        assertEquals(4, job.getSliceCount());
+    }
+
+    @Test
+    void testYieldsOnlyWhenOverBudget() {
+        AtomicInteger iterations = new AtomicInteger();
+        SyncJob job = new SyncJob("budget", ctx -> {
+            for (int i = 0; i < 20; i++) {
+                busy(1);
+                iterations.incrementAndGet();
+                ctx.yieldIfOverBudget();
+            }
+        }, null).budget(5);
+
+        assertTrue(job.resume());
+        int first = iterations.get();
+        assertTrue(first >= 1 && first < 20, "first slice ran " + first + " iterations");
+
+        while (job.resume()) {
+            assertTrue(job.getSliceCount() < 20);
+        }
+        assertEquals(20, iterations.get());
+        assertTrue(job.getSliceCount() > 1);
+    }
+
+    @Test
+    void testOnMainThreadRunsOnResumingThread() {
+        Thread main = Thread.currentThread();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        AtomicReference<Thread> jobThread = new AtomicReference<>();
+
+        SyncJob job = new SyncJob("handoff", ctx -> {
+            jobThread.set(Thread.currentThread());
+            int value = ctx.onMainThread(() -> {
+                ranOn.set(Thread.currentThread());
+                return 42;
+            });
+            assertEquals(42, value);
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> ctx.onMainThread(() -> {
+                        throw new IllegalStateException("boom");
+                    }));
+            assertEquals("boom", e.getMessage());
+        }, null);
+
+        assertFalse(job.resume());
+        assertSame(main, ranOn.get());
+        assertNotSame(main, jobThread.get());
+        assertNull(job.getFuture().getNow(null));
+    }
+
+    @Test
+    void testFailureCompletesFutureAndReportsError() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        SyncJob job = new SyncJob("fail", ctx -> {
+            ctx.pause();
+            throw new IllegalArgumentException("bad region");
+        }, error::set);
+
+        assertTrue(job.resume());
+        assertFalse(job.resume());
+        assertTrue(job.getFuture().isCompletedExceptionally());
+        assertEquals("bad region", error.get().getMessage());
+    }
+
+    @Test
+    void testCancelUnwindsPausedJob() {
+        AtomicBoolean cleanedUp = new AtomicBoolean();
+        AtomicBoolean finished = new AtomicBoolean();
+        SyncJob job = new SyncJob("cancel", ctx -> {
+            try {
+                ctx.pause();
+                finished.set(true);
+            } finally {
+                cleanedUp.set(true);
+            }
+        }, null);
+
+        assertTrue(job.resume());
+        job.cancel();
+
+        assertTrue(cleanedUp.get());
+        assertFalse(finished.get());
+        assertTrue(job.isCancelled());
+        assertTrue(job.getFuture().isCancelled());
+        assertFalse(job.resume());
+    }
+
+    @Test
+    void testCancelBeforeStart() {
+        AtomicBoolean ran = new AtomicBoolean();
+        SyncJob job = new SyncJob("never", ctx -> ran.set(true), null);
+        job.cancel();
+
+        assertFalse(job.resume());
+        assertFalse(ran.get());
+        assertThrows(CancellationException.class, () -> job.getFuture().join());
+    }
+
+    @Test
+    void testShutdownUnwindsRunningJobs() throws InterruptedException {
+        AtomicBoolean cleanedUp = new AtomicBoolean();
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        SyncJob job = new SyncJob("shutdown", ctx -> {
+            worker.set(Thread.currentThread());
+            try {
+                while (true) {
+                    ctx.pause();
+                }
+            } finally {
+                cleanedUp.set(true);
+            }
+        }, null);
+        Scheduler.registry().own(job);
+
+        assertTrue(job.resume());
+        Scheduler.shutdown(Duration.ofSeconds(1));
+
+        worker.get().join(1000);
+        assertFalse(worker.get().isAlive());
+        assertTrue(cleanedUp.get());
+        assertTrue(job.getFuture().isCancelled());
+    }
+
+    @Test
+    void testReinitializeUnwindsRunningJobs() throws InterruptedException {
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        SyncJob job = new SyncJob("reload", ctx -> {
+            worker.set(Thread.currentThread());
+            ctx.pause();
+        }, null);
+        Scheduler.registry().own(job);
+
+        assertTrue(job.resume());
+        Scheduler.initialize(plugin);
+
+        worker.get().join(1000);
+        assertFalse(worker.get().isAlive());
+        assertTrue(job.getFuture().isCancelled());
+    }
+
+    @Test
+    void testCancelFromAnotherThreadUnwindsPausedJob() throws InterruptedException {
+        AtomicBoolean cleanedUp = new AtomicBoolean();
+        SyncJob job = new SyncJob("remote-cancel", ctx -> {
+            try {
+                ctx.pause();
+            } finally {
+                cleanedUp.set(true);
+            }
+        }, null);
+
+        assertTrue(job.resume());
+        Thread canceller = new Thread(job::cancel);
+        canceller.start();
+        canceller.join(1000);
+
+        assertTrue(cleanedUp.get());
+        assertTrue(job.getFuture().isCancelled());
+    }
+
+    @Test
+    void testRoutineDoesNotRunOnTheResumingThread() {
+        Thread resuming = Thread.currentThread();
+        AtomicReference<Thread> routine = new AtomicReference<>();
+        AtomicReference<Thread> mainAction = new AtomicReference<>();
+        SyncJob job = new SyncJob("threads", ctx -> {
+            routine.set(Thread.currentThread());
+            ctx.onMainThread(() -> mainAction.set(Thread.currentThread()));
+        }, null);
+
+        assertFalse(job.resume());
+
+        // Checks such as Bukkit.isPrimaryThread() see the job thread, not the main thread
+        assertNotSame(resuming, routine.get());
+        assertEquals("Scheduler-Job-threads", routine.get().getName());
+        assertSame(resuming, mainAction.get());
+    }
+
+    @Test
+    void testContextRejectsOtherThreads() {
+        AtomicReference<JobContext> leaked = new AtomicReference<>();
+        SyncJob job = new SyncJob("leak", leaked::set, null);
+        assertFalse(job.resume());
+
+        assertThrows(IllegalStateException.class, () -> leaked.get().pause());
+        assertThrows(IllegalArgumentException.class, () -> job.budget(0));
+    }
+
+    private static void busy(long millis) {
+        long end = System.nanoTime() + millis * 1_000_000L;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.moocrest.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import com.moocrest.scheduler.jfr.TaskEvents;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventsTest {
+
+    @Test
+    void testInstrumentRunsTaskWithoutRecording() {
+        AtomicBoolean ran = new AtomicBoolean(false);
+
+        TaskEvents.instrument(() -> ran.set(true), "noop", null, false, 0, -1).run();
+        assertTrue(ran.get());
+    }
+
+    @Test
+    void testOneShotTasksAreNotWrappedWithoutRecording() {
+        Runnable task = () -> {
+        };
+
+        assertSame(task, TaskEvents.instrument(task, "noop", null, false, 20, -1));
+    }
+
+    @Test
+    void testTaskInstrumentedBeforeRecordingIsRecorded() throws Exception {
+        Path file = Files.createTempFile("crest-schedule", ".jfr");
+        Runnable repeating = TaskEvents.instrument(() -> {
+        }, "autosave", null, false, 0, 20);
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.moocrest.scheduler.TaskExecution").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            repeating.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        assertTrue(events.stream().anyMatch(event -> "autosave".equals(event.getString("taskName"))));
+    }
+
+    @Test
+    void testEventsAreRecorded() throws Exception {
+        Path file = Files.createTempFile("crest-schedule", ".jfr");
+        AtomicBoolean ran = new AtomicBoolean(false);
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.moocrest.scheduler.TaskScheduled");
+            recording.enable("com.moocrest.scheduler.TaskExecution").withThreshold(java.time.Duration.ZERO);
+            recording.enable("com.moocrest.scheduler.TaskCancelled");
+            recording.enable("com.moocrest.scheduler.TaskTimedOut");
+            recording.start();
+
+            TaskEvents.scheduled("save", "players", true, 20, -1);
+            TaskEvents.instrument(() -> ran.set(true), "save", "players", true, 0, -1).run();
+            TaskEvents.cancelled("save", "players", true);
+            TaskEvents.timedOut("save", "players", true, 100);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        List<String> names = events.stream()
+                .map(event -> event.getEventType().getName())
+                .collect(Collectors.toList());
+
+        assertTrue(ran.get());
+        assertTrue(names.contains("com.moocrest.scheduler.TaskScheduled"));
+        assertTrue(names.contains("com.moocrest.scheduler.TaskExecution"));
+        assertTrue(names.contains("com.moocrest.scheduler.TaskCancelled"));
+        assertTrue(names.contains("com.moocrest.scheduler.TaskTimedOut"));
+
+        RecordedEvent execution = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.moocrest.scheduler.TaskExecution"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("save", execution.getString("taskName"));
+        assertEquals("players", execution.getString("group"));
+        assertTrue(execution.getBoolean("async"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.graph.GraphReport;
+import com.moocrest.scheduler.graph.TaskGraph;
+import com.moocrest.scheduler.graph.TaskGraphException;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskGraphTest {
+    private Plugin plugin;
+    private ExecutorService mainThread;
+    private ExecutorService asyncPool;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+
+        mainThread = Executors.newSingleThreadExecutor();
+        asyncPool = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mainThread.shutdownNow();
+        asyncPool.shutdownNow();
+    }
+
+    @Test
+    void testGraphBuilder() {
+        TaskGraph graph = Scheduler.graph("startup");
+        TaskGraph.Node<String> config = graph.async("config", () -> "config");
+        TaskGraph.Node<Integer> length = graph.sync("length", config, String::length);
+
+        assertEquals(2, graph.getNodes().size());
+        assertEquals(List.of(config), length.getDependencies());
+        assertThrows(IllegalArgumentException.class, () -> graph.sync("config", () -> 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scheduler.graph().sync("foreign", config, value -> value));
+    }
+
+    @Test
+    void testOutputsFlowToDependents() throws Exception {
+        TaskGraph graph = new TaskGraph("test", mainThread, asyncPool);
+        TaskGraph.Node<Integer> left = graph.async("left", () -> 20);
+        TaskGraph.Node<Integer> right = graph.async("right", () -> 22);
+        TaskGraph.Node<Integer> sum = graph.sync("sum", left, right, Integer::sum);
+        TaskGraph.Node<String> text = graph.sync("text",
+                inputs -> inputs.get(sum) + "/" + inputs.get(left), sum, left);
+
+        GraphReport report = graph.run().get(5, TimeUnit.SECONDS);
+
+        assertTrue(report.isSuccessful());
+        assertEquals(42, report.get(sum));
+        assertEquals("42/20", report.get(text));
+    }
+
+    @Test
+    void testIndependentAsyncNodesRunConcurrently() throws Exception {
+        TaskGraph graph = new TaskGraph("parallel", mainThread, asyncPool);
+        for (int i = 0; i < 4; i++) {
+            graph.async("sleep-" + i, () -> {
+                sleep(200);
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        graph.run().get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 600, "Independent nodes ran sequentially: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testFailureCancelsDownstreamOnly() {
+        TaskGraph graph = new TaskGraph("failing", mainThread, asyncPool);
+        AtomicBoolean downstreamRan = new AtomicBoolean();
+        TaskGraph.Node<String> broken = graph.async("broken", () -> {
+            throw new IllegalStateException("database offline");
+        });
+        TaskGraph.Node<String> independent = graph.async("independent", () -> "ok");
+        TaskGraph.Node<Integer> downstream = graph.sync("downstream", broken, value -> {
+            downstreamRan.set(true);
+            return value.length();
+        });
+        graph.sync("further", downstream, value -> value + 1);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> graph.run().get(5, TimeUnit.SECONDS));
+
+        assertTrue(thrown.getCause() instanceof TaskGraphException);
+        GraphReport report = ((TaskGraphException) thrown.getCause()).getReport();
+        assertFalse(downstreamRan.get());
+        assertEquals(GraphReport.Status.FAILED, report.getNode("broken").getStatus());
+        assertTrue(report.getNode("broken").getError() instanceof IllegalStateException);
+        assertEquals(GraphReport.Status.SUCCEEDED, report.getNode("independent").getStatus());
+        assertEquals(GraphReport.Status.CANCELLED, report.getNode("downstream").getStatus());
+        assertEquals(GraphReport.Status.CANCELLED, report.getNode("further").getStatus());
+        assertEquals("ok", report.get(independent));
+        assertThrows(IllegalStateException.class, () -> report.get(downstream));
+    }
+
+    @Test
+    void testCriticalPathFollowsTheSlowestBranch() throws Exception {
+        TaskGraph graph = new TaskGraph("critical", mainThread, asyncPool);
+        TaskGraph.Node<Integer> fast = graph.async("fast", () -> 1);
+        TaskGraph.Node<Integer> slow = graph.async("slow", () -> {
+            sleep(150);
+            return 2;
+        });
+        TaskGraph.Node<Integer> join = graph.sync("join", fast, slow, Integer::sum);
+
+        GraphReport report = graph.run().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("slow", "join"),
+                report.getCriticalPath().stream().map(GraphReport.NodeReport::getName).toList());
+        assertTrue(report.getNode("slow").isOnCriticalPath());
+        assertFalse(report.getNode("fast").isOnCriticalPath());
+        assertTrue(report.getNode("slow").getRunNanos() >= TimeUnit.MILLISECONDS.toNanos(150));
+        assertEquals(3, report.get(join));
+    }
+
+    @Test
+    void testEmptyGraphCompletes() throws Exception {
+        GraphReport report = new TaskGraph("empty", mainThread, asyncPool).run().get(1, TimeUnit.SECONDS);
+
+        assertTrue(report.isSuccessful());
+        assertTrue(report.getNodes().isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
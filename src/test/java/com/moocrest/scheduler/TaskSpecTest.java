@@ -0,0 +1,157 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.builder.AsyncSchedulerBuilder;
+import com.moocrest.scheduler.builder.BaseSchedulerBuilder;
+import com.moocrest.scheduler.builder.SyncSchedulerBuilder;
+import com.moocrest.scheduler.builder.TaskSpec;
+import com.moocrest.scheduler.group.TaskGroup;
+import com.moocrest.scheduler.retry.Backoff;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSpecTest {
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+    }
+
+    @Test
+    void testSpecFromBuilder() {
+        TaskSpec<SyncSchedulerBuilder> sync = Scheduler.sync().delay(20).name("sync-spec").spec();
+        TaskSpec<AsyncSchedulerBuilder> async = Scheduler.async()
+                .retry(3, Backoff.fixed(10))
+                .timeout(100)
+                .interruptOnCancel()
+                .spec();
+
+        assertNotNull(sync);
+        assertNotNull(async);
+        assertNotNull(sync.bind(value -> {
+        }));
+    }
+
+    @Test
+    void testEveryLaunchGetsItsOwnBuilder() {
+        TaskSpec<AsyncSchedulerBuilder> spec = Scheduler.async().delay(5).spec();
+
+        AsyncSchedulerBuilder first = spec.builder();
+        AsyncSchedulerBuilder second = spec.builder();
+
+        assertNotSame(first, second);
+        assertNotSame(first.delay(40), spec.builder());
+    }
+
+    @Test
+    void testSourceBuilderCanKeepChanging() {
+        SyncSchedulerBuilder builder = Scheduler.sync().delay(20);
+        TaskSpec<SyncSchedulerBuilder> spec = builder.spec();
+
+        builder.delay(40).repeat(10);
+
+        assertNotSame(builder, spec.builder());
+    }
+
+    @Test
+    void testGroupSpecKeepsGroupBuilder() {
+        TaskGroup group = Scheduler.createTaskGroup();
+
+        TaskSpec<SyncSchedulerBuilder> sync = group.sync().delay(10).spec();
+        TaskSpec<AsyncSchedulerBuilder> async = group.async().spec();
+
+        assertTrue(sync.builder() instanceof TaskGroup.GroupSyncSchedulerBuilder);
+        assertTrue(async.builder() instanceof TaskGroup.GroupAsyncSchedulerBuilder);
+    }
+
+    @Test
+    void testSpecIsSafeToShareAcrossThreads() throws InterruptedException {
+        TaskSpec<AsyncSchedulerBuilder> spec = Scheduler.async().retry(2, Backoff.none()).spec();
+        Set<AsyncSchedulerBuilder> builders = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    builders.add(spec.builder());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8000, builders.size());
+    }
+
+    @Test
+    void testLaunchesReuseFrozenConfiguration() {
+        CountingBuilder.created.set(0);
+        CountingBuilder builder = new CountingBuilder();
+        TaskSpec<SyncSchedulerBuilder> spec = builder.delay(20).spec();
+        assertEquals(1, CountingBuilder.created.get());
+
+        AtomicInteger ran = new AtomicInteger(0);
+        for (int i = 0; i < 100; i++) {
+            spec.run(ran::incrementAndGet);
+            spec.run(value -> ran.addAndGet(value), 2);
+        }
+
+        assertEquals(300, ran.get());
+        assertEquals(1, CountingBuilder.created.get());
+        assertNotNull(spec.builder());
+        assertEquals(2, CountingBuilder.created.get());
+    }
+
+    @Test
+    void testBuildersWithoutNewBuilderStillCompile() {
+        LegacyBuilder builder = new LegacyBuilder();
+        assertSame(builder, builder.delay(10));
+        assertThrows(IllegalStateException.class, builder::spec);
+    }
+
+    private static class CountingBuilder extends SyncSchedulerBuilder {
+        private static final AtomicInteger created = new AtomicInteger(0);
+
+        @Override
+        protected SyncSchedulerBuilder newBuilder() {
+            created.incrementAndGet();
+            return new CountingBuilder();
+        }
+
+        @Override
+        protected ScheduledTask executeTask(Supplier<Object> task) {
+            task.get();
+            return null;
+        }
+    }
+
+    private static class LegacyBuilder extends BaseSchedulerBuilder<LegacyBuilder> {
+        @Override
+        protected ScheduledTask executeTask(Supplier<Object> task) {
+            return null;
+        }
+
+        @Override
+        protected ScheduledTask executeRepeatingTask(Supplier<Boolean> task) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.trace.FileTraceExporter;
+import com.moocrest.scheduler.trace.RingBufferTraceExporter;
+import com.moocrest.scheduler.trace.Span;
+import com.moocrest.scheduler.trace.Trace;
+import com.moocrest.scheduler.trace.Tracer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingTest {
+    private Plugin plugin;
+    private Tracer tracer;
+    private RingBufferTraceExporter ring;
+
+    @BeforeEach
+    void setUp() {
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Scheduler.initialize(plugin);
+
+        ring = new RingBufferTraceExporter(4);
+        tracer = new Tracer().addExporter(ring);
+    }
+
+    @Test
+    void testTraceBuilder() {
+        assertNotNull(Scheduler.sync().trace("buy-item"));
+        assertNotNull(Scheduler.async().name("load-balance").trace("buy-item"));
+        assertNotNull(Scheduler.tracer());
+    }
+
+    @Test
+    void testHopsPropagateAndCompleteTheTrace() throws Exception {
+        Trace trace = tracer.start("purchase");
+        AtomicReference<Runnable> second = new AtomicReference<>();
+        AtomicReference<Trace> seenInside = new AtomicReference<>();
+
+        Runnable first = tracer.hop(trace, () -> {
+            seenInside.set(Tracer.current());
+            second.set(tracer.hop(Tracer.current(), () -> sleep(20), "save", true, 0));
+        }, "validate", false, 0);
+
+        first.run();
+        assertSame(trace, seenInside.get());
+        assertNull(Tracer.current());
+        assertTrue(ring.getTraces().isEmpty());
+
+        sleep(30);
+        Thread worker = new Thread(second.get());
+        worker.start();
+        worker.join();
+
+        List<Trace> exported = ring.getTraces();
+        assertEquals(1, exported.size());
+        assertTrue(exported.get(0).isComplete());
+
+        List<Span> spans = trace.getSpans();
+        assertEquals(2, spans.size());
+        assertEquals("validate", spans.get(0).getName());
+        assertEquals("save", spans.get(1).getName());
+        assertTrue(spans.get(1).isAsync());
+        assertTrue(spans.get(1).getQueueNanos() >= Duration.ofMillis(30).toNanos());
+        assertTrue(spans.get(1).getRunNanos() >= Duration.ofMillis(20).toNanos());
+        assertEquals(0, tracer.getActiveCount());
+    }
+
+    @Test
+    void testFailedHopsAreMarked() {
+        Trace trace = tracer.start("failing");
+        Runnable hop = tracer.hop(trace, () -> {
+            throw new IllegalStateException("boom");
+        }, null, true, 0);
+
+        assertThrows(IllegalStateException.class, hop::run);
+
+        Span span = trace.getSpans().get(0);
+        assertTrue(span.isFailed());
+        assertEquals("async", span.getName());
+        assertTrue(trace.isComplete());
+    }
+
+    @Test
+    void testAbandonedTracesAreExportedIncomplete() {
+        tracer.maxTraceAge(Duration.ZERO);
+        Trace trace = tracer.start("cancelled");
+        tracer.hop(trace, () -> {
+        }, "never-runs", false, 20);
+
+        sleep(1);
+        tracer.sweep();
+
+        assertEquals(List.of(trace), ring.getTraces());
+        assertFalse(trace.isComplete());
+        assertEquals(-1, trace.getSpans().get(0).getRunNanos());
+    }
+
+    @Test
+    void testHandledErrorsMarkTheRunningSpan() {
+        Trace trace = tracer.start("handled");
+        tracer.hop(trace, () -> {
+            try {
+                throw new IllegalStateException("boom");
+            } catch (IllegalStateException e) {
+                Tracer.markFailed();
+            }
+        }, "caught", true, 0).run();
+
+        assertTrue(trace.getSpans().get(0).isFailed());
+        assertTrue(trace.isComplete());
+
+        Tracer.markFailed();
+        assertEquals(List.of(trace), ring.getTraces());
+    }
+
+    @Test
+    void testEagerlyOpenedHopsKeepTheTraceOpen() {
+        Trace trace = tracer.start("chain");
+        Runnable continuation = tracer.hop(trace, () -> {
+        }, "thenSync", false, 0);
+        AtomicReference<Trace> seen = new AtomicReference<>();
+
+        Tracer.runWithin(trace, () -> seen.set(Tracer.current()));
+        assertSame(trace, seen.get());
+        assertNull(Tracer.current());
+
+        tracer.hop(trace, () -> {
+        }, "load", true, 0).run();
+        assertTrue(ring.getTraces().isEmpty());
+
+        continuation.run();
+        assertEquals(List.of(trace), ring.getTraces());
+        assertTrue(trace.isComplete());
+        assertEquals(2, trace.getSpans().size());
+    }
+
+    @Test
+    void testAbandonedTracesAreSweptWithoutNewTraffic() {
+        tracer.maxTraceAge(Duration.ZERO);
+        Trace trace = tracer.start("idle-server");
+        tracer.hop(trace, () -> {
+        }, "never-runs", false, 20);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ring.getTraces().isEmpty() && System.currentTimeMillis() < deadline) {
+            sleep(50);
+        }
+
+        assertEquals(List.of(trace), ring.getTraces());
+        assertEquals(0, tracer.getActiveCount());
+        tracer.reset();
+    }
+
+    @Test
+    void testRingBufferKeepsMostRecent() {
+        for (int i = 0; i < 6; i++) {
+            Trace trace = tracer.start("trace-" + i);
+            tracer.hop(trace, () -> {
+            }, null, false, 0).run();
+        }
+
+        List<Trace> traces = ring.getTraces();
+        assertEquals(4, traces.size());
+        assertEquals("trace-2", traces.get(0).getName());
+        assertEquals("trace-5", traces.get(3).getName());
+        assertEquals(6, ring.getExportedCount());
+    }
+
+    @Test
+    void testFileExporterWritesJsonLines() throws Exception {
+        Path file = Files.createTempFile("scheduler-traces", ".jsonl");
+        try {
+            FileTraceExporter exporter = new FileTraceExporter(file);
+            tracer.addExporter(exporter);
+
+            Trace trace = tracer.start("quote \"me\"");
+            tracer.hop(trace, () -> {
+            }, "only", false, 0).run();
+            exporter.close();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(1, lines.size());
+            assertTrue(lines.get(0).contains("\"name\":\"quote \\\"me\\\"\""));
+            assertTrue(lines.get(0).contains("\"queueNanos\":"));
+            assertTrue(lines.get(0).contains("\"complete\":true"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testShutdownFlushesAndClosesExporters() throws Exception {
+        Path file = Files.createTempFile("scheduler-traces", ".jsonl");
+        try {
+            FileTraceExporter exporter = new FileTraceExporter(file);
+            Scheduler.tracer().addExporter(exporter);
+
+            Trace done = Scheduler.tracer().start("done");
+            Scheduler.tracer().hop(done, () -> {
+            }, "only", false, 0).run();
+            Trace pending = Scheduler.tracer().start("pending");
+            Scheduler.tracer().hop(pending, () -> {
+            }, "never-runs", false, 20);
+
+            Scheduler.shutdown(Duration.ofSeconds(1));
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(1).contains("\"name\":\"pending\""));
+            assertTrue(lines.get(1).contains("\"complete\":false"));
+            assertEquals(0, Scheduler.tracer().getActiveCount());
+
+            exporter.export(done);
+            assertEquals(1, exporter.getDroppedCount());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.moocrest.scheduler;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.moocrest.scheduler.Scheduler;
+import com.moocrest.scheduler.watchdog.TaskWatchdog;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchdogTest {
+    private Plugin plugin;
+    private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Logger logger = Logger.getLogger("WatchdogTest");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("TestPlugin");
+        Mockito.when(plugin.getLogger()).thenReturn(logger);
+        Scheduler.initialize(plugin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TaskWatchdog watchdog = TaskWatchdog.current();
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+    }
+
+    @Test
+    void testWatchdogDisabledByDefault() {
+        assertNull(TaskWatchdog.current());
+    }
+
+    @Test
+    void testSlowTaskIsReported() throws InterruptedException {
+        TaskWatchdog watchdog = Scheduler.watchdog()
+                .syncThreshold(20, TimeUnit.MILLISECONDS)
+                .samples(2, 10, TimeUnit.MILLISECONDS)
+                .start();
+
+        assertSame(watchdog, TaskWatchdog.current());
+
+        Runnable slow = watchdog.monitor(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "slow-task", new StackTraceElement("com.example.Plugin", "onEnable", "Plugin.java", 42), false);
+        slow.run();
+
+        for (int i = 0; i < 50 && records.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, records.size());
+        String message = records.get(0).getMessage();
+        assertTrue(message.contains("'slow-task'"));
+        assertTrue(message.contains("com.example.Plugin.onEnable(Plugin.java:42)"));
+        assertTrue(message.contains("Sample 1"));
+        assertEquals(0, watchdog.getExecutingCount());
+    }
+
+    @Test
+    void testFastTaskIsNotReported() throws InterruptedException {
+        TaskWatchdog watchdog = Scheduler.watchdog()
+                .syncThreshold(500, TimeUnit.MILLISECONDS)
+                .start();
+
+        watchdog.monitor(() -> {
+        }, null, null, false).run();
+        Thread.sleep(50);
+
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void testStopClearsCurrent() {
+        TaskWatchdog watchdog = Scheduler.watchdog().start();
+        watchdog.stop();
+
+        assertFalse(watchdog.isRunning());
+        assertNull(TaskWatchdog.current());
+    }
+}